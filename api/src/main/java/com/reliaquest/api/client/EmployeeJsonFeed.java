@@ -0,0 +1,245 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Token-level decoder for upstream employee JSON: each employee goes to the sink as soon as its closing brace has been
+ * read, without building a tree, a {@code Response} envelope or a list first.
+ *
+ * <p>Reads either NDJSON (one employee object per line) or the {@code {"data": [...]}} envelope. As a
+ * {@link Flow.Subscriber} it drives Jackson's non-blocking parser with body chunks as they arrive from the network;
+ * {@link #readFully()} drives a blocking parser instead. Not thread-safe, one feed decodes one response.
+ */
+public class EmployeeJsonFeed implements Flow.Subscriber<List<ByteBuffer>> {
+
+    public enum Layout {
+        NDJSON,
+        ENVELOPE
+    }
+
+    /*
+     * Wire names, as written by MockEmployee's naming strategy.
+     */
+    private static final String ID = "id";
+    private static final String NAME = "employee_name";
+    private static final String SALARY = "employee_salary";
+    private static final String AGE = "employee_age";
+    private static final String TITLE = "employee_title";
+    private static final String EMAIL = "employee_email";
+    private static final String DATA = "data";
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final Layout layout;
+    private final Consumer<MockEmployee> sink;
+
+    private int depth;
+    private int employeeDepth;
+    private boolean inData;
+    private boolean sawData;
+    private String rootField;
+    private String field;
+    private MockEmployee.MockEmployeeBuilder employee;
+    private int count;
+    private RuntimeException failure;
+
+    private EmployeeJsonFeed(JsonParser parser, Layout layout, Consumer<MockEmployee> sink) {
+        this.parser = parser;
+        this.feeder = parser.getNonBlockingInputFeeder() instanceof ByteBufferFeeder bytes ? bytes : null;
+        this.layout = layout;
+        this.sink = sink;
+    }
+
+    /**
+     * A feed to subscribe to a response body with.
+     */
+    public static EmployeeJsonFeed nonBlocking(
+            @NonNull JsonFactory factory, @NonNull Layout layout, @NonNull Consumer<MockEmployee> sink) {
+        try {
+            return new EmployeeJsonFeed(factory.createNonBlockingByteBufferParser(), layout, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A feed over a blocking parser, consumed with {@link #readFully()}.
+     */
+    public static EmployeeJsonFeed blocking(
+            @NonNull JsonParser parser, @NonNull Layout layout, @NonNull Consumer<MockEmployee> sink) {
+        return new EmployeeJsonFeed(parser, layout, sink);
+    }
+
+    /**
+     * Reads a blocking parser to its end.
+     *
+     * @return the number of employees handed to the sink
+     * @throws RuntimeException when the input is malformed or truncated
+     */
+    public int readFully() {
+        drain();
+        complete();
+        return getCount();
+    }
+
+    /**
+     * @return the number of employees handed to the sink so far
+     * @throws RuntimeException once the input turned out malformed or truncated
+     */
+    public int getCount() {
+        if (failure != null) {
+            throw failure;
+        }
+        return count;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        for (final var buffer : buffers) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                feeder.feedInput(buffer);
+            } catch (IOException e) {
+                failure = new UncheckedIOException(e);
+                return;
+            }
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // the response future fails with it
+    }
+
+    @Override
+    public void onComplete() {
+        if (failure == null) {
+            feeder.endOfInput();
+            drain();
+            complete();
+        }
+    }
+
+    /*
+     * Handles every token available so far; a malformed input is remembered rather than thrown, so the rest of
+     * the body can still be consumed and the response completes normally.
+     */
+    private void drain() {
+        try {
+            JsonToken token;
+            while (failure == null && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        } catch (IOException e) {
+            failure = new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    private void complete() {
+        if (failure != null) {
+            return;
+        }
+        if (employee != null || depth != 0) {
+            failure = new UncheckedIOException(new IOException("Employee list ended mid-value"));
+        } else if (layout == Layout.ENVELOPE && !sawData) {
+            failure = new IllegalStateException("Empty response body from employee API");
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT -> {
+                if (employee == null && startsEmployee()) {
+                    employee = MockEmployee.builder();
+                    employeeDepth = depth + 1;
+                }
+                depth++;
+            }
+            case START_ARRAY -> {
+                if (layout == Layout.ENVELOPE && depth == 1 && DATA.equals(rootField)) {
+                    inData = true;
+                    sawData = true;
+                }
+                depth++;
+            }
+            case END_OBJECT -> {
+                if (employee != null && depth == employeeDepth) {
+                    sink.accept(employee.build());
+                    count++;
+                    employee = null;
+                }
+                depth--;
+            }
+            case END_ARRAY -> {
+                depth--;
+                if (depth == 1) {
+                    inData = false;
+                }
+            }
+            case FIELD_NAME -> {
+                field = parser.currentName();
+                if (depth == 1) {
+                    rootField = field;
+                }
+            }
+            default -> {
+                if (employee != null && depth == employeeDepth) {
+                    set(token);
+                }
+            }
+        }
+    }
+
+    private boolean startsEmployee() {
+        return layout == Layout.NDJSON ? depth == 0 : inData && depth == 2;
+    }
+
+    private void set(JsonToken token) throws IOException {
+        if (field == null) {
+            return;
+        }
+        switch (field) {
+            case ID -> employee.id(token == JsonToken.VALUE_NULL ? null : UUID.fromString(parser.getText()));
+            case NAME -> employee.name(text(token));
+            case SALARY -> employee.salary(integer(token));
+            case AGE -> employee.age(integer(token));
+            case TITLE -> employee.title(text(token));
+            case EMAIL -> employee.email(text(token));
+            default -> {}
+        }
+    }
+
+    private String text(JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private Integer integer(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            default -> Integer.valueOf(parser.getValueAsString().trim());
+        };
+    }
+}
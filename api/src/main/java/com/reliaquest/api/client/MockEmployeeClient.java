@@ -0,0 +1,492 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BatchItemResult;
+import com.reliaquest.server.model.Capability;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.model.SalaryStats;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * HTTP access to the Mock Employee API.
+ *
+ * <p>Blocking calls go through a {@link RestTemplate} and the non-blocking variants through
+ * {@link HttpClient#sendAsync}; both share one pooled JDK client (see {@link UpstreamClientConfiguration}) and report
+ * HTTP errors as the same {@link RestClientResponseException} subtypes, so callers handle them identically.
+ *
+ * <p>Employee lists are never materialised as a {@code Response} envelope: {@link #streamAllAsync(Consumer)} reads
+ * the upstream's NDJSON stream, and {@link #fetchAllAsync(Consumer)} the list envelope of an upstream that does not
+ * stream, each decoding every employee with a token-level {@link EmployeeJsonFeed} as its bytes arrive.
+ *
+ * <p>Requests carry the caller's trace context on both paths: Boot instruments the {@link RestTemplate}, and
+ * {@link HttpClient} exchanges are observed here as {@code http.client.async.requests}. Decoding a JSON body is a span
+ * of its own, except for streamed lists, which are decoded while they arrive and so within the exchange's span.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MockEmployeeClient {
+
+    private static final ParameterizedTypeReference<Response<MockEmployee>> EMPLOYEE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Boolean>> DELETED = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<BatchItemResult<MockEmployee>>>> BATCH_RESULTS =
+            new ParameterizedTypeReference<>() {};
+
+    private static final TypeReference<Response<MockEmployee>> EMPLOYEE_JSON = new TypeReference<>() {};
+    private static final TypeReference<Response<List<MockEmployee>>> EMPLOYEE_LIST_JSON = new TypeReference<>() {};
+    private static final TypeReference<Response<SalaryStats>> SALARY_STATS_JSON = new TypeReference<>() {};
+    private static final TypeReference<Response<EmployeeChanges>> CHANGES_JSON = new TypeReference<>() {};
+    private static final TypeReference<Response<List<String>>> CAPABILITIES_JSON = new TypeReference<>() {};
+
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final String REMOTE_SERVICE_NAME = "mock-employee-api";
+
+    private final RestTemplate upstreamRestTemplate;
+    private final HttpClient upstreamHttpClient;
+    private final ObjectMapper objectMapper;
+    private final UpstreamClientProperties properties;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${mockemployee.service.url}")
+    private String mockEmployeeServiceUrl;
+
+    /**
+     * Asks which endpoints the upstream offers beyond the stock server's. The stock server has no such endpoint: it
+     * routes the path to {@code GET /{id}} and its catch-all advice answers the failed UUID conversion with a 500, so
+     * any error response but a 429 means none. Names this client does not know are left out.
+     *
+     * @throws HttpClientErrorException.TooManyRequests when the upstream is throttling, and nothing can be told
+     */
+    public CompletableFuture<Set<Capability>> fetchCapabilitiesAsync() {
+        return getAsync(mockEmployeeServiceUrl + "/capabilities", "/capabilities", CAPABILITIES_JSON)
+                .handle((body, failure) -> {
+                    if (failure == null) {
+                        final Set<Capability> offered = EnumSet.noneOf(Capability.class);
+                        if (body != null && body.data() != null) {
+                            for (final var name : body.data()) {
+                                capability(name).ifPresent(offered::add);
+                            }
+                        }
+                        return offered;
+                    }
+                    final var cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure;
+                    if (cause instanceof RestClientResponseException
+                            && !(cause instanceof HttpClientErrorException.TooManyRequests)) {
+                        return EnumSet.noneOf(Capability.class);
+                    }
+                    throw failure instanceof CompletionException completion
+                            ? completion
+                            : new CompletionException(failure);
+                });
+    }
+
+    /**
+     * Hands each employee to {@code sink} as soon as it has been decoded from the upstream stream, on the HTTP
+     * client's thread and in upstream order. Only for an upstream that offers {@link Capability#STREAM}.
+     *
+     * @return the roster version, taken from the ETag, that the delivered employees reflect at least; empty when the
+     * upstream does not version its roster
+     */
+    public CompletableFuture<Optional<RosterVersion>> streamAllAsync(Consumer<MockEmployee> sink) {
+        return sendForEmployees(
+                        mockEmployeeServiceUrl + "/stream",
+                        "/stream",
+                        APPLICATION_NDJSON_VALUE,
+                        EmployeeJsonFeed.Layout.NDJSON,
+                        sink)
+                .thenApply(MockEmployeeClient::deliveredVersion);
+    }
+
+    /**
+     * Like {@link #streamAllAsync(Consumer)}, but reads the list envelope every upstream offers; employees are still
+     * handed over as they are decoded.
+     */
+    public CompletableFuture<Optional<RosterVersion>> fetchAllAsync(Consumer<MockEmployee> sink) {
+        return sendForEmployees(
+                        mockEmployeeServiceUrl,
+                        "/",
+                        MediaType.APPLICATION_JSON_VALUE,
+                        EmployeeJsonFeed.Layout.ENVELOPE,
+                        sink)
+                .thenApply(MockEmployeeClient::deliveredVersion);
+    }
+
+    /**
+     * Reads the upstream change log after {@code since}, a version from {@link #streamAllAsync(Consumer)} or an
+     * earlier call; at most one page of changes per call.
+     *
+     * @return empty when the upstream cannot continue from {@code since}: it no longer retains changes that far back,
+     * or {@code since} is from before it restarted
+     */
+    public CompletableFuture<Optional<EmployeeChanges>> fetchChangesSinceAsync(RosterVersion since) {
+        final var url = UriComponentsBuilder.fromHttpUrl(mockEmployeeServiceUrl)
+                .path("/changes")
+                .queryParam("since", since.toString())
+                .toUriString();
+        return getAsync(url, "/changes", CHANGES_JSON).handle((body, failure) -> {
+            if (failure == null) {
+                if (body == null || body.data() == null) {
+                    throw new IllegalStateException("Empty response body from employee API");
+                }
+                return Optional.of(body.data());
+            }
+            final var cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause instanceof HttpClientErrorException.Gone
+                    || cause instanceof HttpClientErrorException.BadRequest) {
+                return Optional.empty();
+            }
+            throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+        });
+    }
+
+    /**
+     * Opens the upstream's event stream, resuming after version {@code lastEventId}; events reach {@code events} on
+     * the HTTP client's thread, in order, until {@link ServerSentEvents#closed()} completes.
+     * {@link ServerSentEvents#cancel()} disconnects.
+     *
+     * @return completes once the upstream has accepted the subscription, or fails with what it answered instead
+     */
+    public CompletableFuture<Void> subscribeEvents(RosterVersion lastEventId, ServerSentEvents events) {
+        final var request = HttpRequest.newBuilder(URI.create(mockEmployeeServiceUrl + "/events"))
+                .timeout(properties.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .header(LAST_EVENT_ID, lastEventId.toString())
+                .GET()
+                .build();
+        final var opened = new CompletableFuture<Void>();
+        final HttpResponse.BodyHandler<byte[]> bodyHandler = info -> {
+            if (info.statusCode() >= 400) {
+                return HttpResponse.BodySubscribers.ofByteArray();
+            }
+            opened.complete(null);
+            return HttpResponse.BodySubscribers.fromLineSubscriber(
+                    events, subscriber -> null, StandardCharsets.UTF_8, null);
+        };
+        // not observed: the subscription lives for as long as the connection, it is not a request worth a span
+        upstreamHttpClient.sendAsync(request, bodyHandler).whenComplete((response, failure) -> {
+            if (failure != null) {
+                // before the upstream accepted, the attempt failed; after, the stream did
+                if (!opened.completeExceptionally(failure)) {
+                    events.onError(failure);
+                }
+            } else if (response.statusCode() >= 400) {
+                opened.completeExceptionally(toException(response.statusCode(), response.headers(), response.body()));
+            }
+        });
+        return opened;
+    }
+
+    /**
+     * @return the employee, or {@code null} when the upstream answered without one
+     * @throws HttpClientErrorException.NotFound when the upstream does not know the id
+     */
+    public CompletableFuture<MockEmployee> fetchByIdAsync(UUID id) {
+        return getAsync(mockEmployeeServiceUrl + "/" + id, "/{id}", EMPLOYEE_JSON)
+                .thenApply(body -> body != null ? body.data() : null);
+    }
+
+    /**
+     * Salary aggregates computed by the upstream, without transferring the roster. Only for an upstream that offers
+     * {@link Capability#SALARY_STATS}.
+     */
+    public CompletableFuture<SalaryStats> fetchSalaryStatsAsync() {
+        return pushDownAsync(mockEmployeeServiceUrl + "/salary/stats", "/salary/stats", SALARY_STATS_JSON);
+    }
+
+    /**
+     * Only for an upstream that offers {@link Capability#TOP_EARNERS}.
+     *
+     * @return the {@code limit} highest earners, highest first
+     */
+    public CompletableFuture<List<MockEmployee>> fetchTopEarnersAsync(int limit) {
+        final var url = UriComponentsBuilder.fromHttpUrl(mockEmployeeServiceUrl)
+                .path("/salary/top")
+                .queryParam("limit", limit)
+                .toUriString();
+        return pushDownAsync(url, "/salary/top", EMPLOYEE_LIST_JSON);
+    }
+
+    /**
+     * Only for an upstream that offers {@link Capability#NAME_SEARCH}.
+     *
+     * @return employees whose name contains {@code fragment}, ignoring case
+     */
+    public CompletableFuture<List<MockEmployee>> searchByNameAsync(String fragment) {
+        final var url = UriComponentsBuilder.fromHttpUrl(mockEmployeeServiceUrl)
+                .path("/search/name")
+                .queryParam("contains", fragment)
+                .encode()
+                .toUriString();
+        return pushDownAsync(url, "/search/name", EMPLOYEE_LIST_JSON);
+    }
+
+    public MockEmployee create(CreateMockEmployeeInput input) {
+        final var body = upstreamRestTemplate
+                .exchange(mockEmployeeServiceUrl, HttpMethod.POST, jsonEntity(input), EMPLOYEE)
+                .getBody();
+        if (body == null) {
+            log.error("Failed to create employee: response body was null.");
+            throw new IllegalStateException("Exception occurred while creating new employee details!");
+        }
+        return body.data();
+    }
+
+    /**
+     * Creates all inputs in one round trip; the upstream validates each one on its own.
+     *
+     * @return one result per input, in input order
+     */
+    public List<BatchItemResult<MockEmployee>> createBatch(List<CreateMockEmployeeInput> inputs) {
+        return batch(HttpMethod.POST, inputs);
+    }
+
+    /**
+     * @return one result per id, in input order
+     */
+    public List<BatchItemResult<MockEmployee>> deleteBatch(List<UUID> ids) {
+        return batch(HttpMethod.DELETE, ids);
+    }
+
+    /**
+     * Deletes by id in one round trip, unambiguous even when names collide. Only for an upstream that offers
+     * {@link Capability#DELETE_BY_ID}.
+     *
+     * @return the deleted employee, or empty when the upstream does not know the id
+     */
+    public Optional<MockEmployee> deleteById(UUID id) {
+        try {
+            final var body = upstreamRestTemplate
+                    .exchange(mockEmployeeServiceUrl + "/" + id, HttpMethod.DELETE, null, EMPLOYEE)
+                    .getBody();
+            return Optional.ofNullable(body != null ? body.data() : null);
+        } catch (HttpClientErrorException.NotFound unknownId) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return whether the upstream found and removed an employee with that name
+     */
+    public boolean deleteByName(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        final var body = upstreamRestTemplate
+                .exchange(mockEmployeeServiceUrl, HttpMethod.DELETE, jsonEntity(input), DELETED)
+                .getBody();
+        if (body == null) {
+            throw new IllegalStateException("Empty response body from employee API");
+        }
+        return !Boolean.FALSE.equals(body.data());
+    }
+
+    private <T> CompletableFuture<T> getAsync(String url, String uriTemplate, TypeReference<T> type) {
+        final var request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+        // decoding runs on the client's thread, where the caller's observation is not current
+        final var caller = observationRegistry.getCurrentObservation();
+        return sendAsync(request, uriTemplate, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw toException(response.statusCode(), response.headers(), response.body());
+                    }
+                    return decoding(uriTemplate).parentObservation(caller).observe(() -> {
+                        try {
+                            return objectMapper.readValue(response.body(), type);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Unreadable response from " + url, e);
+                        }
+                    });
+                });
+    }
+
+    /*
+     * Sends through the JDK client as an observed client exchange; the tracing handler writes the trace context into
+     * a copy of the request before it goes out, as it does for RestTemplate.
+     */
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request, String uriTemplate, HttpResponse.BodyHandler<T> bodyHandler) {
+        final var traced = HttpRequest.newBuilder(request, (name, value) -> true);
+        final var context =
+                new RequestReplySenderContext<HttpRequest.Builder, HttpResponse<T>>(HttpRequest.Builder::setHeader);
+        context.setCarrier(traced);
+        context.setRemoteServiceName(REMOTE_SERVICE_NAME);
+        final var observation = Observation.createNotStarted(
+                        "http.client.async.requests", () -> context, observationRegistry)
+                .contextualName("http " + request.method().toLowerCase())
+                .lowCardinalityKeyValue("method", request.method())
+                .lowCardinalityKeyValue("uri", uriTemplate)
+                .highCardinalityKeyValue("http.url", request.uri().toString())
+                .start();
+        final CompletableFuture<HttpResponse<T>> response;
+        try {
+            response = upstreamHttpClient.sendAsync(traced.build(), bodyHandler);
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("status", "CLIENT_ERROR");
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        return response.whenComplete((result, failure) -> {
+            if (failure != null) {
+                observation.lowCardinalityKeyValue("status", "CLIENT_ERROR");
+                observation.error(failure);
+            } else {
+                context.setResponse(result);
+                observation.lowCardinalityKeyValue("status", String.valueOf(result.statusCode()));
+            }
+            observation.stop();
+        });
+    }
+
+    private Observation decoding(String body) {
+        return Observation.createNotStarted("employee.client.decode", observationRegistry)
+                .contextualName("decode " + body)
+                .lowCardinalityKeyValue("body", body);
+    }
+
+    private List<BatchItemResult<MockEmployee>> batch(HttpMethod method, List<?> items) {
+        final var body = upstreamRestTemplate
+                .exchange(mockEmployeeServiceUrl + "/batch", method, jsonEntity(items), BATCH_RESULTS)
+                .getBody();
+        if (body == null || body.data() == null) {
+            throw new IllegalStateException("Empty response body from employee API");
+        }
+        return body.data();
+    }
+
+    private <T> CompletableFuture<T> pushDownAsync(String url, String uriTemplate, TypeReference<Response<T>> type) {
+        return getAsync(url, uriTemplate, type).thenApply(body -> {
+            if (body == null || body.data() == null) {
+                throw new IllegalStateException("Empty response body from employee API");
+            }
+            return body.data();
+        });
+    }
+
+    private static Optional<RosterVersion> deliveredVersion(HttpResponse<EmployeeBody> response) {
+        if (response.statusCode() >= 400) {
+            throw toException(response.statusCode(), response.headers(), response.body().errorBody());
+        }
+        response.body().feed().getCount();
+        return response.headers().firstValue(HttpHeaders.ETAG).flatMap(MockEmployeeClient::version);
+    }
+
+    private static Optional<Capability> capability(String name) {
+        try {
+            return Optional.of(Capability.valueOf(name));
+        } catch (IllegalArgumentException newerThanThisClient) {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * The server's ETag is the epoch-qualified version, quoted; anything else means the roster is not versioned.
+     */
+    private static Optional<RosterVersion> version(String eTag) {
+        final var value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        try {
+            return Optional.of(RosterVersion.parse(value.replace("\"", "").trim()));
+        } catch (IllegalArgumentException notAVersion) {
+            return Optional.empty();
+        }
+    }
+
+    private static <T> HttpEntity<T> jsonEntity(T body) {
+        final var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
+    /*
+     * Mirrors what RestTemplate's default error handler throws, so 429s are recognisable on both paths.
+     */
+    private static RestClientResponseException toException(
+            int statusCode, java.net.http.HttpHeaders responseHeaders, byte[] body) {
+        final var status = HttpStatusCode.valueOf(statusCode);
+        final var known = HttpStatus.resolve(statusCode);
+        final var statusText = known != null ? known.getReasonPhrase() : "";
+        final var headers = new HttpHeaders();
+        responseHeaders.map().forEach(headers::addAll);
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(status, statusText, headers, body, StandardCharsets.UTF_8);
+    }
+
+    private CompletableFuture<HttpResponse<EmployeeBody>> sendForEmployees(
+            String url,
+            String uriTemplate,
+            String accept,
+            EmployeeJsonFeed.Layout layout,
+            Consumer<MockEmployee> sink) {
+        final var request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, accept)
+                .GET()
+                .build();
+        final HttpResponse.BodyHandler<EmployeeBody> bodyHandler = info -> {
+            if (info.statusCode() >= 400) {
+                return HttpResponse.BodySubscribers.mapping(
+                        HttpResponse.BodySubscribers.ofByteArray(), errorBody -> new EmployeeBody(null, errorBody));
+            }
+            final var feed = EmployeeJsonFeed.nonBlocking(objectMapper.getFactory(), layout, sink);
+            return HttpResponse.BodySubscribers.fromSubscriber(feed, decoded -> new EmployeeBody(decoded, null));
+        };
+        return sendAsync(request, uriTemplate, bodyHandler);
+    }
+
+    /*
+     * Either the feed that decoded a successful body, or the raw body of an error response.
+     */
+    private record EmployeeBody(EmployeeJsonFeed feed, byte[] errorBody) {}
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Assembles a {@code text/event-stream} body, fed line by line, into events. Fields other than {@code id},
+ * {@code event} and {@code data} are ignored, as are comments; an event without data is dropped, as the
+ * specification asks.
+ *
+ * <p>Not thread-safe; one instance reads one stream, and {@link #cancel()} disconnects it. {@link #closed()} tells
+ * when the stream has ended.
+ */
+public class ServerSentEvents implements Flow.Subscriber<String> {
+
+    /**
+     * @param id the event's id, or {@code null} when it had none
+     * @param name the event type, {@code message} when the stream did not name it
+     */
+    public record Event(String id, String name, String data) {}
+
+    private static final String DEFAULT_NAME = "message";
+
+    private final Consumer<Event> sink;
+
+    private final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+
+    private String id;
+    private String name;
+    private StringBuilder data;
+
+    /**
+     * @param sink receives each complete event, in stream order; must not throw
+     */
+    public ServerSentEvents(@NonNull Consumer<Event> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return completes when the stream ends: normally when the upstream closed it or it was cancelled, exceptionally
+     * when the connection failed
+     */
+    public CompletableFuture<Void> closed() {
+        return closed;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        closed.complete(null);
+        final var current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(Long.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (line.isEmpty()) {
+            dispatch();
+            return;
+        }
+        if (line.startsWith(":")) {
+            return;
+        }
+        final int colon = line.indexOf(':');
+        final var field = colon < 0 ? line : line.substring(0, colon);
+        var value = colon < 0 ? "" : line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        switch (field) {
+            case "id" -> id = value;
+            case "event" -> name = value;
+            case "data" -> {
+                if (data == null) {
+                    data = new StringBuilder(value);
+                } else {
+                    data.append('\n').append(value);
+                }
+            }
+            default -> {}
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closed.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        // a trailing event without its blank line is incomplete, and dropped
+        closed.complete(null);
+    }
+
+    private void dispatch() {
+        if (data != null && !cancelled) {
+            sink.accept(new Event(id, name != null && !name.isEmpty() ? name : DEFAULT_NAME, data.toString()));
+        }
+        id = null;
+        name = null;
+        data = null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Collapses concurrent calls for the same key into one. The first caller starts the call; everyone arriving before it
+ * completes shares its outcome. Once the call completes the key is released, so the next caller starts a fresh one.
+ *
+ * @param <K> identifies the upstream resource
+ * @param <V> result of the call
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return a future completing with the result of the in-flight call for {@code key}, starting it with
+     * {@code call} when there is none; cancelling it does not affect other callers
+     */
+    public CompletableFuture<V> execute(@NonNull K key, @NonNull Supplier<CompletableFuture<V>> call) {
+        final var flight = new CompletableFuture<V>();
+        final var existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing.copy();
+        }
+        try {
+            call.get().whenComplete((result, failure) -> {
+                // release first, so callers arriving after completion start a new call
+                inFlight.remove(key, flight);
+                if (failure != null) {
+                    flight.completeExceptionally(failure);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+}
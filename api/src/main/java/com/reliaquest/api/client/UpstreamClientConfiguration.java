@@ -0,0 +1,60 @@
+package com.reliaquest.api.client;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(UpstreamClientProperties.class)
+public class UpstreamClientConfiguration {
+
+    /*
+     * The JDK client only reads its pool settings from system properties, once, when the first client is created.
+     * Explicit -D flags win over the values configured here.
+     */
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    @Bean
+    public HttpClient upstreamHttpClient(UpstreamClientProperties properties, Environment environment) {
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, String.valueOf(properties.getMaxIdleConnections()));
+        }
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(properties.getKeepAlive().toSeconds()));
+        }
+        log.debug("Creating upstream HTTP client: {}", properties);
+        final var builder = HttpClient.newBuilder()
+                .version(properties.getHttpVersion())
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // async exchanges complete on virtual threads too, matching spring.threads.virtual.enabled for Tomcat
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public RestTemplate upstreamRestTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            HttpClient upstreamHttpClient,
+            UpstreamClientProperties properties) {
+        return restTemplateBuilder
+                .requestFactory(() -> {
+                    final var requestFactory = new JdkClientHttpRequestFactory(upstreamHttpClient);
+                    requestFactory.setReadTimeout(properties.getReadTimeout());
+                    return requestFactory;
+                })
+                .build();
+    }
+}
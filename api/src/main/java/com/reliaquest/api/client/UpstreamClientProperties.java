@@ -0,0 +1,38 @@
+package com.reliaquest.api.client;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings for calls to the Mock Employee API, bound from {@code mockemployee.client.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mockemployee.client")
+public class UpstreamClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /*
+     * Upper bound for a whole upstream exchange, from sending the request to reading the response.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /*
+     * HTTP_2 negotiates h2c with the upstream and falls back to HTTP/1.1 when it is not supported.
+     */
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2;
+
+    /*
+     * Idle connections kept open for reuse, and for how long.
+     */
+    private int maxIdleConnections = 50;
+
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /*
+     * How long the upstream's answer to GET /capabilities is relied on before it is asked again.
+     */
+    private Duration capabilityRefresh = Duration.ofMinutes(5);
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    @Bean
+    public CacheManager cacheManager(
+            CacheProperties properties, ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        final var observationRegistry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+        final var cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(
+                    String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new ObservedCaffeineCache(name, cache, isAllowNullValues(), observationRegistry);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(caffeine(properties.getDefaults()));
+        properties.getCaches().forEach((name, spec) -> {
+            log.debug("Configuring cache '{}': {}", name, spec);
+            cacheManager.registerCustomCache(name, caffeine(spec).build());
+        });
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(CacheProperties.Spec spec) {
+        final var builder = Caffeine.newBuilder();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher(CacheConfiguration::weigh);
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        if (spec.isRecordStats()) {
+            builder.recordStats();
+        }
+        return builder;
+    }
+
+    private static int weigh(Object key, Object value) {
+        return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bounds and expiry for the caches used by {@link com.reliaquest.api.service.EmployeeService}, bound from
+ * {@code employee.cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.cache")
+public class CacheProperties {
+
+    private final Snapshot snapshot = new Snapshot();
+
+    /*
+     * Applied to any cache that has no entry under "caches".
+     */
+    private final Spec defaults = new Spec();
+
+    private final Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Snapshot {
+
+        /*
+         * Age after which the next read reloads the employee snapshot from upstream.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(5);
+
+        /*
+         * Age up to which reads keep being served from the snapshot while a background refresh runs, even when
+         * that refresh fails; past it, reads wait for a reload and fail with it.
+         */
+        private Duration maxStaleness = Duration.ofMinutes(30);
+
+        /*
+         * Delay between polls of the upstream change log, which keep a loaded snapshot current without re-reading
+         * the full list; zero disables polling.
+         */
+        private Duration syncInterval = Duration.ofMinutes(1);
+
+        /*
+         * Subscribes to the upstream's change events once a versioned snapshot is loaded, and patches the snapshot
+         * as they arrive; polling pauses while the subscription is live.
+         */
+        private boolean subscribeToChanges = true;
+
+        /*
+         * Wait before reconnecting a dropped event stream, or resubscribing after a resync.
+         */
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+
+        /*
+         * Cap on the reconnect delay, which doubles with every connection in a row that ended without delivering an
+         * event.
+         */
+        private Duration maxReconnectDelay = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Spec {
+
+        private Long maximumSize = 1_000L;
+
+        /*
+         * When set, replaces maximumSize; list values weigh their element count, everything else weighs 1.
+         */
+        private Long maximumWeight;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        private Duration expireAfterAccess;
+
+        private boolean recordStats = true;
+    }
+}
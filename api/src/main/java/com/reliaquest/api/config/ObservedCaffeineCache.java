@@ -0,0 +1,45 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * {@link CaffeineCache} whose lookups are observed as {@code employee.cache.lookup}, tagged with the cache and whether
+ * it hit, so a trace shows the cache check in front of every upstream call.
+ *
+ * <p>Still a {@link CaffeineCache}, so the cache metrics and code reaching into the native cache keep working.
+ */
+class ObservedCaffeineCache extends CaffeineCache {
+
+    private final ObservationRegistry observationRegistry;
+
+    ObservedCaffeineCache(
+            String name,
+            Cache<Object, Object> cache,
+            boolean allowNullValues,
+            ObservationRegistry observationRegistry) {
+        super(name, cache, allowNullValues);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        final var observation = Observation.createNotStarted("employee.cache.lookup", observationRegistry)
+                .contextualName("cache lookup " + getName())
+                .lowCardinalityKeyValue("cache", getName())
+                .start();
+        try {
+            final var value = super.lookup(key);
+            observation.lowCardinalityKeyValue("result", value != null ? "hit" : "miss");
+            return value;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("result", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
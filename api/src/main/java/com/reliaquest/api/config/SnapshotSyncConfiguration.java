@@ -0,0 +1,40 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.service.EmployeeEventSubscriber;
+import com.reliaquest.api.service.EmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Polls the upstream change log every {@code employee.cache.snapshot.sync-interval}, see
+ * {@link EmployeeService#syncSnapshot()}, unless change events are arriving through the
+ * {@link EmployeeEventSubscriber}.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class SnapshotSyncConfiguration implements SchedulingConfigurer {
+
+    private final CacheProperties cacheProperties;
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeEventSubscriber employeeEventSubscriber;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        final var interval = cacheProperties.getSnapshot().getSyncInterval();
+        if (interval != null && interval.isPositive()) {
+            registrar.addFixedDelayTask(
+                    () -> {
+                        if (!employeeEventSubscriber.isConnected()) {
+                            employeeService.syncSnapshot();
+                        }
+                    },
+                    interval);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import brave.sampler.Sampler;
+import com.reliaquest.server.tracing.CappedSampler;
+import com.reliaquest.server.tracing.FileSpanHandler;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    /*
+     * Replaces Boot's probability-only sampler; the probability still comes from management.tracing.sampling.
+     */
+    @Bean
+    public Sampler sampler(
+            @Value("${management.tracing.sampling.probability:0.1}") float probability,
+            @Value("${employee.tracing.max-traces-per-second:10}") int maxTracesPerSecond) {
+        return CappedSampler.create(probability, maxTracesPerSecond);
+    }
+
+    @Bean
+    @ConditionalOnProperty("employee.tracing.file")
+    public FileSpanHandler fileSpanHandler(
+            @Value("${employee.tracing.file}") Path file,
+            @Value("${employee.tracing.queue-capacity:10000}") int queueCapacity)
+            throws IOException {
+        return new FileSpanHandler(file, queueCapacity);
+    }
+}
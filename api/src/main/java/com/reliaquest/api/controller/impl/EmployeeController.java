@@ -2,27 +2,40 @@ package com.reliaquest.api.controller.impl;
 
 import com.reliaquest.api.controller.IEmployeeController;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.ColumnarRoster;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.controller.MockEmployeeController;
 import com.reliaquest.server.model.MockEmployee;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 public class EmployeeController implements IEmployeeController<MockEmployee, CreateMockEmployeeInput> {
 
+    /*
+     * Set when a read was answered from a snapshot that is past its refresh age.
+     */
+    static final String SNAPSHOT_STALE_HEADER = "X-Snapshot-Stale";
 
     @Autowired
     private EmployeeService employeeService;
 
     @Override
     public ResponseEntity<List<MockEmployee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+        return fromSnapshot(HttpStatus.OK, employeeService.getAllEmployees());
     }
 
     @Override
@@ -30,10 +43,10 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
         List<MockEmployee> result = employeeService.getEmployeesByNameSearch(searchString);
 
         if (result.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+            return fromSnapshot(HttpStatus.NOT_FOUND, result);
         }
 
-        return ResponseEntity.ok(result);
+        return fromSnapshot(HttpStatus.OK, result);
     }
 
 
@@ -49,13 +62,52 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         int highestSalary = employeeService.getHighestSalaryAmongstEmployees();
-        return ResponseEntity.ok(highestSalary);
+        return fromSnapshot(HttpStatus.OK, highestSalary);
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> names = employeeService.getTop10HighestEarningEmployeeNames();
-        return ResponseEntity.ok(names);
+        return fromSnapshot(HttpStatus.OK, names);
+    }
+
+    /*
+     * Routes outside IEmployeeController answer with a future, so no servlet thread waits while the snapshot loads
+     * or the upstream computes the result.
+     */
+    @GetMapping("/topEarners")
+    public CompletableFuture<ResponseEntity<List<MockEmployee>>> getTopEarners(
+            @RequestParam(defaultValue = "10") int count) {
+        if (count < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getTopEarnersAsync(count).thenApply(top -> fromSnapshot(HttpStatus.OK, top));
+    }
+
+    @GetMapping("/salaryPercentile")
+    public CompletableFuture<ResponseEntity<Integer>> getSalaryPercentile(@RequestParam double percentile) {
+        // also rejects NaN, which fails every comparison
+        if (!(percentile >= 0 && percentile <= 100)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getSalaryPercentileAsync(percentile).thenApply(salary -> salary
+                .map(found -> fromSnapshot(HttpStatus.OK, found))
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/salaryStats")
+    public CompletableFuture<ResponseEntity<ColumnarRoster.SalaryStats>> getSalaryStats(
+            @RequestParam(required = false) String title) {
+        return employeeService.getSalaryStatsAsync(title).thenApply(stats -> fromSnapshot(HttpStatus.OK, stats));
+    }
+
+    @GetMapping("/byAge")
+    public CompletableFuture<ResponseEntity<List<MockEmployee>>> getEmployeesByAge(
+            @RequestParam(defaultValue = "0") int min, @RequestParam(defaultValue = "" + Integer.MAX_VALUE) int max) {
+        if (min < 0 || max < min) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getEmployeesByAgeAsync(min, max).thenApply(found -> fromSnapshot(HttpStatus.OK, found));
     }
 
     @Override
@@ -64,6 +116,24 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
         return ResponseEntity.ok(employee);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        // refused here rather than as an upstream error
+        if (inputs.size() > MockEmployeeController.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.createEmployees(inputs));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<MockEmployee>>> deleteEmployees(@RequestBody List<UUID> ids) {
+        if (ids.size() > MockEmployeeController.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.deleteEmployeesById(ids));
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
             UUID uuid;
@@ -76,5 +146,19 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
             return ResponseEntity.ok(deletedName);
     }
 
+    /*
+     * Tells clients how old the snapshot behind a read is; it may be served stale while upstream is throttling us.
+     */
+    private <T> ResponseEntity<T> fromSnapshot(HttpStatus status, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        employeeService.getSnapshotAge().ifPresent(age -> {
+            response.header(HttpHeaders.AGE, Long.toString(age.toSeconds()));
+            if (employeeService.isSnapshotStale()) {
+                response.header(SNAPSHOT_STALE_HEADER, "true");
+            }
+        });
+        return response.body(body);
+    }
+
 
 }
\ No newline at end of file
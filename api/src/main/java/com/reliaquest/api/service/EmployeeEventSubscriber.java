@@ -0,0 +1,203 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.ServerSentEvents;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the employee snapshot current from the upstream's event stream, so reads are answered locally without
+ * waiting for a refresh.
+ *
+ * <p>Connects once a versioned snapshot has been loaded, resuming after the snapshot's version. Every {@code change}
+ * is applied as it arrives; a {@code heartbeat} confirms the snapshot is current. An event that does not continue
+ * from the snapshot's version, or a {@code resync} from the upstream, drops the connection, catches the snapshot up
+ * through {@link EmployeeService#syncSnapshot()} and reconnects from its new version.
+ *
+ * <p>Connects go through the {@link RateLimitingHandler} as call site {@code subscribeEvents}, so they spend the
+ * upstream quota and respect its circuit like any other request. A dropped connection is re-established after
+ * {@code employee.cache.snapshot.reconnect-delay}, resuming where it left off; the delay doubles with every connection
+ * in a row that ended without delivering an event, up to {@code max-reconnect-delay}, and never ends before the
+ * upstream's {@code Retry-After}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeEventSubscriber implements SmartLifecycle {
+
+    private static final String SUBSCRIBE_EVENTS = "subscribeEvents";
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 16;
+
+    private final CacheProperties cacheProperties;
+
+    private final MockEmployeeClient mockEmployeeClient;
+
+    private final RateLimitingHandler rateLimitingHandler;
+
+    private final EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Bumped for every connection; events and completions of a superseded connection are ignored.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /*
+     * Connections that ended without delivering an event, since the last one that did.
+     */
+    private final AtomicInteger idleConnections = new AtomicInteger();
+
+    /*
+     * Resyncs block on the upstream; they and the reconnects run here rather than on the common pool.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile ServerSentEvents events;
+    private volatile boolean running;
+    private volatile boolean connected;
+
+    /**
+     * @return whether events are arriving on a live connection
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void start() {
+        if (!cacheProperties.getSnapshot().isSubscribeToChanges()) {
+            return;
+        }
+        running = true;
+        connect();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        generation.incrementAndGet();
+        disconnect();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        final var version = employeeService.getSnapshotVersion();
+        if (version.isEmpty()) {
+            // nothing to patch until the first versioned load
+            reconnectLater();
+            return;
+        }
+        final long current = generation.incrementAndGet();
+        final var stream = new ServerSentEvents(event -> onEvent(current, event));
+        events = stream;
+        rateLimitingHandler
+                .executeAsync(SUBSCRIBE_EVENTS, () -> mockEmployeeClient.subscribeEvents(version.get(), stream))
+                .thenCompose(opened -> stream.closed())
+                .whenComplete((ignored, failure) -> {
+                    if (generation.get() != current) {
+                        return;
+                    }
+                    connected = false;
+                    idleConnections.incrementAndGet();
+                    if (failure != null) {
+                        log.warn("Employee event stream failed: {}", failure.getMessage());
+                    } else {
+                        log.debug("Employee event stream closed by upstream.");
+                    }
+                    reconnectLater();
+                });
+    }
+
+    private void onEvent(long connection, ServerSentEvents.Event event) {
+        if (generation.get() != connection) {
+            return;
+        }
+        connected = true;
+        idleConnections.set(0);
+        final boolean inStep;
+        try {
+            inStep = switch (event.name()) {
+                case "change" -> {
+                    final var change = objectMapper.readValue(event.data(), EmployeeChange.class);
+                    yield employeeService.applyUpstreamChanges(
+                            new EmployeeChanges(List.of(change), change.version(), false));
+                }
+                case "heartbeat" -> employeeService.applyUpstreamChanges(
+                        new EmployeeChanges(List.of(), Long.parseLong(event.data().trim()), false));
+                case "resync" -> false;
+                default -> true;
+            };
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.warn("Unreadable employee event '{}': {}", event.name(), e.getMessage());
+            resync(connection);
+            return;
+        }
+        if (!inStep) {
+            resync(connection);
+        }
+    }
+
+    private void resync(long connection) {
+        if (!generation.compareAndSet(connection, connection + 1)) {
+            return;
+        }
+        log.info("Employee event stream is out of step with the snapshot, resyncing.");
+        connected = false;
+        disconnect();
+        CompletableFuture.runAsync(employeeService::syncSnapshot, executor)
+                .whenComplete((ignored, failure) -> reconnectLater());
+    }
+
+    private void reconnectLater() {
+        if (!running) {
+            return;
+        }
+        final var delay = reconnectDelay();
+        CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS, executor)
+                .execute(this::connect);
+    }
+
+    private Duration reconnectDelay() {
+        final var settings = cacheProperties.getSnapshot();
+        final int doublings = Math.min(Math.max(idleConnections.get() - 1, 0), MAX_BACKOFF_DOUBLINGS);
+        var delay = settings.getReconnectDelay().multipliedBy(1L << doublings);
+        if (delay.compareTo(settings.getMaxReconnectDelay()) > 0) {
+            delay = settings.getMaxReconnectDelay();
+        }
+        final var retryAfter = rateLimitingHandler.getRetryAfter(SUBSCRIBE_EVENTS);
+        return retryAfter.compareTo(delay) > 0 ? retryAfter : delay;
+    }
+
+    private void disconnect() {
+        connected = false;
+        final var stream = events;
+        if (stream != null) {
+            stream.cancel();
+        }
+    }
+}
@@ -1,166 +1,554 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.SingleFlight;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.store.ColumnarRoster;
+import com.reliaquest.api.store.EmployeeSnapshot;
 import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.server.model.BatchItemResult;
+import com.reliaquest.server.model.Capability;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
-import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.model.Response;
-import org.springframework.beans.factory.annotation.Value;
+import com.reliaquest.server.model.RosterVersion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-public class EmployeeService {
+@RequiredArgsConstructor
+public class EmployeeService implements MeterBinder {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /*
+     * Upstream call sites, each with its own mockemployee.resilience.policies entry.
+     */
+    private static final String GET_ALL_EMPLOYEES = "getAllEmployees";
+    private static final String GET_EMPLOYEE_CHANGES = "getEmployeeChanges";
+    private static final String GET_EMPLOYEE_BY_ID = "getEmployeeById";
+    private static final String CREATE_EMPLOYEE = "createEmployee";
+    private static final String DELETE_EMPLOYEE = "deleteEmployee";
+    private static final String CREATE_EMPLOYEES = "createEmployees";
+    private static final String DELETE_EMPLOYEES = "deleteEmployees";
+    private static final String GET_SALARY_STATS = "getSalaryStats";
+    private static final String GET_TOP_EARNERS = "getTopEarners";
+    private static final String SEARCH_EMPLOYEES = "searchEmployees";
 
-    @Value("${mockemployee.service.url}")
-    private String mockEmployeeServiceUrl;
+    /*
+     * Largest top-earners query the upstream answers in one call.
+     */
+    private static final int MAX_PUSH_DOWN_LIMIT = 1_000;
+
+    private final CacheProperties cacheProperties;
+
+    private final MockEmployeeClient mockEmployeeClient;
+
+    private final UpstreamCapabilities upstreamCapabilities;
+
+    private final RateLimitingHandler rateLimitingHandler;
+
+    private final CacheManager cacheManager;
+
+    /*
+     * Serves the full list and the salary views; writes are applied to it in place instead of evicting everything.
+     */
+    private final EmployeeSnapshot snapshot = new EmployeeSnapshot();
+
+    /*
+     * Concurrent misses for the same upstream resource share one HTTP call and one deserialization.
+     */
+    private final SingleFlight<String, EmployeeSnapshot> snapshotLoads = new SingleFlight<>();
+
+    private final SingleFlight<UUID, MockEmployee> employeeLookups = new SingleFlight<>();
+
+    /*
+     * Snapshot reads by how they were served: fresh, stale with a refresh started, or waiting on a full load.
+     */
+    private final LongAdder snapshotHits = new LongAdder();
+
+    private final LongAdder snapshotStaleHits = new LongAdder();
+
+    private final LongAdder snapshotMisses = new LongAdder();
+
+    /**
+     * Publishes the snapshot's size, age and version, and how snapshot reads were served. The Caffeine caches report
+     * their own hit and miss counts through Boot's cache metrics.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.snapshot.size", snapshot, EmployeeSnapshot::size)
+                .description("Employees held in the snapshot")
+                .register(registry);
+        Gauge.builder("employee.snapshot.age", snapshot, loaded -> loaded.age()
+                        .map(age -> age.toNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                        .orElse(Double.NaN))
+                .description("Time since the snapshot last matched the upstream")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("employee.snapshot.version", this, service -> service.getSnapshotVersion()
+                        .map(version -> (double) version.version())
+                        .orElse(Double.NaN))
+                .description("Upstream roster version the snapshot reflects, within the upstream's current epoch")
+                .register(registry);
+        bindSnapshotReads(registry, "hit", snapshotHits);
+        bindSnapshotReads(registry, "stale", snapshotStaleHits);
+        bindSnapshotReads(registry, "miss", snapshotMisses);
+    }
+
+    private static void bindSnapshotReads(MeterRegistry registry, String result, LongAdder reads) {
+        FunctionCounter.builder("employee.snapshot.reads", reads, LongAdder::sum)
+                .description("Reads served from the employee snapshot")
+                .tag("result", result)
+                .register(registry);
+    }
 
-    @Cacheable("allEmployees")
     public List<MockEmployee> getAllEmployees() {
-        ResponseEntity<Response<List<MockEmployee>>> response = RateLimitingHandler.retryOnRateLimit(() -> restTemplate.exchange(
-                mockEmployeeServiceUrl,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<Response<List<MockEmployee>>>() {}
-        ));
-        if (response.getBody() == null) {
-            log.error("Received empty response body when fetching employees.");
-            throw new IllegalStateException("Empty response body from employee API");
+        return loadedSnapshot().all();
+    }
+
+    /**
+     * @return time since the snapshot behind the list and salary views was loaded, or empty before the first load
+     */
+    public Optional<Duration> getSnapshotAge() {
+        return snapshot.age();
+    }
+
+    /**
+     * @return the upstream roster version the snapshot reflects; empty before the first load, or when the upstream
+     * does not version its roster
+     */
+    public Optional<RosterVersion> getSnapshotVersion() {
+        return snapshot.isLoaded() ? snapshot.version() : Optional.empty();
+    }
+
+    /**
+     * Applies changes pushed by the upstream to the snapshot, and drops the cached lookups they affect.
+     *
+     * @return false when they do not continue from the snapshot's version; the snapshot is then left as it was and
+     * needs {@link #syncSnapshot()}
+     */
+    public boolean applyUpstreamChanges(EmployeeChanges changes) {
+        List<String> names = changes.changes().stream()
+                .map(change -> change.type() == EmployeeChange.Type.CREATED
+                        ? change.employee().getName()
+                        : snapshot.findById(change.id()).map(MockEmployee::getName).orElse(null))
+                .toList();
+        if (!snapshot.applyChanges(changes)) {
+            return false;
+        }
+        if (!changes.changes().isEmpty()) {
+            evictCached(changes.changes().stream().map(EmployeeChange::id).toList(), names);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether reads are being served from a snapshot that is due for a refresh
+     */
+    public boolean isSnapshotStale() {
+        return snapshot.isOlderThan(cacheProperties.getSnapshot().getRefreshAfter());
+    }
+
+    private EmployeeSnapshot loadedSnapshot() {
+        return join(loadedSnapshotAsync());
+    }
+
+    /*
+     * The snapshot, when reads may be served from it without waiting on a full load.
+     */
+    private Optional<EmployeeSnapshot> servableSnapshot() {
+        if (!snapshot.isLoaded() || snapshot.isOlderThan(cacheProperties.getSnapshot().getMaxStaleness())) {
+            return Optional.empty();
+        }
+        return Optional.of(loadedSnapshot());
+    }
+
+    /*
+     * Asks the upstream to compute a result instead of pulling the whole roster for it. Empty when the upstream did
+     * not offer the query at its latest capability probe; callers then fall back to the full list.
+     */
+    private <T> CompletableFuture<Optional<T>> pushDown(
+            Capability capability, String callSite, Supplier<CompletableFuture<T>> call) {
+        return upstreamCapabilities.supports(capability).thenCompose(offered -> offered
+                ? rateLimitingHandler.executeAsync(callSite, call).thenApply(Optional::of)
+                : CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /*
+     * Stale-while-revalidate: a snapshot past refreshAfter is still served, with one background refresh started,
+     * until it is older than maxStaleness. Only then do reads wait on (and fail with) the upstream.
+     */
+    private CompletableFuture<EmployeeSnapshot> loadedSnapshotAsync() {
+        final var settings = cacheProperties.getSnapshot();
+        if (!snapshot.isLoaded() || snapshot.isOlderThan(settings.getMaxStaleness())) {
+            snapshotMisses.increment();
+            return reloadSnapshot();
+        }
+        if (snapshot.isOlderThan(settings.getRefreshAfter())) {
+            snapshotStaleHits.increment();
+            refreshInBackground();
+        } else {
+            snapshotHits.increment();
+        }
+        return CompletableFuture.completedFuture(snapshot);
+    }
+
+    private CompletableFuture<EmployeeSnapshot> reloadSnapshot() {
+        return snapshotLoads.execute("allEmployees", () -> {
+            if (snapshot.isLoaded() && !isSnapshotStale()) {
+                // a load finished between the caller's check and joining the flight
+                return CompletableFuture.completedFuture(snapshot);
+            }
+            return catchUp();
+        });
+    }
+
+    /**
+     * Catches the snapshot up with the upstream change log; run on a fixed delay, see
+     * {@code employee.cache.snapshot.sync-interval}. Does nothing until a versioned snapshot has been loaded.
+     */
+    public void syncSnapshot() {
+        if (!snapshot.isLoaded() || snapshot.version().isEmpty()) {
+            return;
+        }
+        try {
+            join(snapshotLoads.execute("allEmployees", this::catchUp));
+        } catch (RuntimeException e) {
+            log.warn("Snapshot sync failed, next attempt in {}s: {}",
+                    cacheProperties.getSnapshot().getSyncInterval().toSeconds(), e.getMessage());
+        }
+    }
+
+    /*
+     * Refresh cost follows the change rate: only changes since the snapshot's version are read, and the full list
+     * only when the snapshot is unversioned or the upstream no longer retains changes that far back.
+     */
+    private CompletableFuture<EmployeeSnapshot> catchUp() {
+        return syncChanges().thenCompose(synced -> synced ? CompletableFuture.completedFuture(snapshot) : loadAll());
+    }
+
+    private CompletableFuture<Boolean> syncChanges() {
+        Optional<RosterVersion> version = snapshot.version();
+        if (!snapshot.isLoaded() || version.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
         }
-        log.info("Successfully fetched {} employees.", response.getBody().data().size());
-        return response.getBody().data();
+        return rateLimitingHandler.executeAsync(
+                        GET_EMPLOYEE_CHANGES, () -> mockEmployeeClient.fetchChangesSinceAsync(version.get()))
+                .thenCompose(changes -> {
+                    if (changes.isEmpty() || !applyUpstreamChanges(changes.get())) {
+                        log.info("Upstream changes since version {} are incomplete, reloading all employees.",
+                                version.get());
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    log.debug("Applied {} upstream changes, now at version {}.",
+                            changes.get().changes().size(), changes.get().version());
+                    return changes.get().more() ? syncChanges() : CompletableFuture.completedFuture(true);
+                });
+    }
+
+    private CompletableFuture<EmployeeSnapshot> loadAll() {
+        return upstreamCapabilities
+                .supports(Capability.STREAM)
+                .thenCompose(streams -> rateLimitingHandler.executeAsync(GET_ALL_EMPLOYEES, () -> {
+                    // employees are indexed as they are decoded; a retry starts over with a fresh loader
+                    final var loader = EmployeeSnapshot.loader();
+                    final var load = streams
+                            ? mockEmployeeClient.streamAllAsync(loader::add)
+                            : mockEmployeeClient.fetchAllAsync(loader::add);
+                    return load.thenApply(version -> {
+                        version.ifPresent(loader::atVersion);
+                        return loader;
+                    });
+                }))
+                .thenApply(loader -> {
+                    log.info("Successfully fetched {} employees.", loader.size());
+                    snapshot.replaceAll(loader);
+                    // cached lookups may hold employees the reload no longer has
+                    clearCached();
+                    return snapshot;
+                });
+    }
+
+    private void refreshInBackground() {
+        reloadSnapshot().whenComplete((refreshed, failure) -> {
+            if (failure != null) {
+                log.warn("Snapshot refresh failed, still serving employees loaded {}s ago: {}",
+                        snapshot.age().map(Duration::toSeconds).orElse(0L), failure.getMessage());
+            }
+        });
     }
 
     @Cacheable(value = "searchEmployees", key = "#employeeName.toLowerCase()")
     public List<MockEmployee> getEmployeesByNameSearch(String employeeName) {
-        log.info("Searching for employees by name containing '{}'", employeeName);
-        return RateLimitingHandler.retryOnRateLimit(() -> getAllEmployees().stream()
-                .filter(mockEmployee -> mockEmployee.getName().toLowerCase().contains(employeeName.toLowerCase()))
-                .collect(Collectors.toList()));
+        log.debug("Searching for employees by name containing '{}'", employeeName);
+        return servableSnapshot()
+                .map(loaded -> loaded.searchByName(employeeName))
+                .or(() -> join(pushDown(
+                        Capability.NAME_SEARCH,
+                        SEARCH_EMPLOYEES,
+                        () -> mockEmployeeClient.searchByNameAsync(employeeName))))
+                .orElseGet(() -> loadedSnapshot().searchByName(employeeName));
     }
 
     @Cacheable(value = "employeeById", key = "#id")
     public MockEmployee getEmployeeById(UUID id) {
-        log.info("Fetching employee by ID: {}", id);
-        String urlEndpoint = mockEmployeeServiceUrl + "/" + id;
-
-        ResponseEntity<Response<MockEmployee>> mockEmployeeResponse = null;
+        log.debug("Fetching employee by ID: {}", id);
+        Optional<MockEmployee> known = snapshot.findById(id);
+        if (known.isPresent()) {
+            return known.get();
+        }
 
+        MockEmployee mockEmployee;
         try {
-            mockEmployeeResponse = RateLimitingHandler.retryOnRateLimit(() -> restTemplate.exchange(
-                    urlEndpoint,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<Response<MockEmployee>>() {}
-            ));
+            mockEmployee = join(fetchEmployee(id));
         } catch (Exception e) {
             log.error("Error occurred while fetching employee: {}", e.getMessage());
             throw new IllegalArgumentException("Employee with id " + id + " not found!");
         }
 
-        assert mockEmployeeResponse != null;
-        if (mockEmployeeResponse.getBody() == null || mockEmployeeResponse.getBody().data() == null) {
-            log.error("Employee not found with ID: {}", id);
+        if (mockEmployee == null) {
+            log.debug("Employee not found with ID: {}", id);
             throw new IllegalArgumentException("Employee with id " + id + " not found!");
         }
 
-        return mockEmployeeResponse.getBody().data();
+        return mockEmployee;
     }
 
+    private CompletableFuture<MockEmployee> fetchEmployee(UUID id) {
+        return employeeLookups.execute(id, () -> rateLimitingHandler.executeAsync(
+                GET_EMPLOYEE_BY_ID, () -> mockEmployeeClient.fetchByIdAsync(id)));
+    }
 
-
-    @Cacheable("highestSalary")
     public Integer getHighestSalaryAmongstEmployees() {
-        int highest = RateLimitingHandler.retryOnRateLimit(() -> getAllEmployees().stream()
-                .mapToInt(MockEmployee::getSalary)
-                .max()
-                .orElse(0));
-        log.info("Highest salary found: {}", highest);
+        int highest = servableSnapshot()
+                .map(EmployeeSnapshot::highestSalary)
+                .or(() -> join(pushDown(
+                                Capability.SALARY_STATS, GET_SALARY_STATS, mockEmployeeClient::fetchSalaryStatsAsync))
+                        .map(stats -> stats.max() != null ? stats.max() : 0))
+                .orElseGet(() -> loadedSnapshot().highestSalary());
+        log.debug("Highest salary found: {}", highest);
         return highest;
     }
 
-    @Cacheable("top10HighestEarning")
     public List<String> getTop10HighestEarningEmployeeNames() {
-        log.info("Fetching top 10 highest earning employee names...");
-        List<String> top10Names = RateLimitingHandler.retryOnRateLimit(() -> getAllEmployees().stream()
-                .sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
-                .limit(10)
+        List<String> top10Names = getTopEarners(10).stream()
                 .map(MockEmployee::getName)
-                .collect(Collectors.toList()));
-        log.info("Top 10 highest earners: {}", top10Names);
+                .collect(Collectors.toList());
+        log.debug("Top 10 highest earners: {}", top10Names);
         return top10Names;
     }
 
-    @CacheEvict(value = {"allEmployees", "searchEmployees", "employeeById", "highestSalary", "top10HighestEarning"},
-            allEntries = true)
-    public MockEmployee createEmployee(CreateMockEmployeeInput input) {
-        log.info("Creating new employee: {}", input.getName());
+    public List<MockEmployee> getTopEarners(int count) {
+        return join(getTopEarnersAsync(count));
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<CreateMockEmployeeInput> requestEntity = new HttpEntity<>(input, headers);
+    /**
+     * Non-blocking variant of {@link #getTopEarners(int)}: completes at once from a servable snapshot, otherwise once
+     * the upstream has answered, without holding the calling thread.
+     */
+    public CompletableFuture<List<MockEmployee>> getTopEarnersAsync(int count) {
+        log.debug("Fetching top {} highest earning employees...", count);
+        Optional<EmployeeSnapshot> servable = servableSnapshot();
+        if (servable.isPresent()) {
+            return CompletableFuture.completedFuture(servable.get().topEarners(count));
+        }
+        CompletableFuture<Optional<List<MockEmployee>>> pushedDown = count <= MAX_PUSH_DOWN_LIMIT
+                ? pushDown(
+                        Capability.TOP_EARNERS, GET_TOP_EARNERS, () -> mockEmployeeClient.fetchTopEarnersAsync(count))
+                : CompletableFuture.completedFuture(Optional.empty());
+        return pushedDown.thenCompose(top -> top.isPresent()
+                ? CompletableFuture.completedFuture(top.get())
+                : loadedSnapshotAsync().thenApply(loaded -> loaded.topEarners(count)));
+    }
 
-        ResponseEntity<Response<MockEmployee>> response = RateLimitingHandler.retryOnRateLimit(() -> restTemplate.exchange(
-                mockEmployeeServiceUrl,
-                HttpMethod.POST,
-                requestEntity,
-                new ParameterizedTypeReference<Response<MockEmployee>>() {}
-        ));
+    /**
+     * Completes once the snapshot is loaded, without holding the calling thread.
+     */
+    public CompletableFuture<Optional<Integer>> getSalaryPercentileAsync(double percentile) {
+        return loadedSnapshotAsync().thenApply(loaded -> {
+            OptionalInt salary = loaded.salaryPercentile(percentile);
+            return salary.isPresent() ? Optional.of(salary.getAsInt()) : Optional.empty();
+        });
+    }
 
-        if (response.getBody() == null) {
-            log.error("Failed to create employee: response body was null.");
-            throw new IllegalStateException("Exception occurred while creating new employee details!");
-        }
+    /**
+     * Completes once the snapshot is loaded, without holding the calling thread.
+     *
+     * @param title restricts the statistics to employees with exactly this title, when not {@code null}
+     */
+    public CompletableFuture<ColumnarRoster.SalaryStats> getSalaryStatsAsync(String title) {
+        return loadedSnapshotAsync().thenApply(loaded -> {
+            ColumnarRoster roster = loaded.columnar();
+            return title == null ? roster.salaryStats() : roster.salaryStats(title);
+        });
+    }
+
+    /**
+     * Completes once the snapshot is loaded, without holding the calling thread.
+     *
+     * @return employees aged {@code minAge} to {@code maxAge} inclusive, in upstream order; those without an age are
+     * left out
+     */
+    public CompletableFuture<List<MockEmployee>> getEmployeesByAgeAsync(int minAge, int maxAge) {
+        return loadedSnapshotAsync().thenApply(loaded -> loaded.columnar().filterByAge(minAge, maxAge));
+    }
+
+    public MockEmployee createEmployee(CreateMockEmployeeInput input) {
+        log.debug("Creating new employee: {}", input.getName());
+
+        MockEmployee created = rateLimitingHandler.execute(CREATE_EMPLOYEE, () -> mockEmployeeClient.create(input));
 
-        log.info("Successfully created employee: {}", response.getBody().data().getName());
-        return response.getBody().data();
+        snapshot.put(created);
+        evictCached(List.of(created));
+        log.info("Successfully created employee: {}", created.getName());
+        return created;
     }
 
-    @CacheEvict(value = {"allEmployees", "searchEmployees", "employeeById", "highestSalary", "top10HighestEarning"},
-            allEntries = true)
     public String deleteEmployeeById(UUID id) {
-        log.info("Deleting employee by ID: {}", id);
+        log.debug("Deleting employee by ID: {}", id);
 
+        if (join(upstreamCapabilities.supports(Capability.DELETE_BY_ID))) {
+            Optional<MockEmployee> deleted =
+                    rateLimitingHandler.execute(DELETE_EMPLOYEE, () -> mockEmployeeClient.deleteById(id));
+            snapshot.remove(id);
+            if (deleted.isEmpty()) {
+                // a lookup cached before the employee was deleted elsewhere
+                evictCached(List.of(id), List.of());
+                log.debug("Employee not found with ID: {}", id);
+                return "Employee with id " + id + " not found!";
+            }
+            evictCached(List.of(deleted.get()));
+            log.info("Successfully deleted employee: {}", deleted.get().getName());
+            return deleted.get().getName();
+        }
+
+        // by name: the name comes from the snapshot when it knows the id, otherwise from an upstream lookup
         MockEmployee mockEmployee;
         try {
-            mockEmployee = getEmployeeById(id);
+            mockEmployee = snapshot.findById(id).orElseGet(() -> getEmployeeById(id));
         }catch (Exception e){
             log.error(e.getMessage());
             return e.getMessage();
         }
-        DeleteMockEmployeeInput deleteMockEmployeeInput = new DeleteMockEmployeeInput();
-        deleteMockEmployeeInput.setName(mockEmployee.getName());
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<DeleteMockEmployeeInput> requestEntity = new HttpEntity<>(deleteMockEmployeeInput, headers);
 
-        ResponseEntity<Response<Boolean>> response = RateLimitingHandler.retryOnRateLimit(() -> restTemplate.exchange(
-                mockEmployeeServiceUrl,
-                HttpMethod.DELETE,
-                requestEntity,
-                new ParameterizedTypeReference<Response<Boolean>>() {}
-        ));
-
-        Boolean isDeleted = Objects.requireNonNull(response.getBody()).data();
-        if (Boolean.FALSE.equals(isDeleted)) {
+        String name = mockEmployee.getName();
+        boolean isDeleted = rateLimitingHandler.execute(DELETE_EMPLOYEE, () -> mockEmployeeClient.deleteByName(name));
+        if (!isDeleted) {
             log.warn("Employee to be deleted not found with ID: {}", id);
             throw new IllegalArgumentException("Employee to be deleted not found!");
         }
 
-        log.info("Successfully deleted employee: {}", mockEmployee.getName());
-        return mockEmployee.getName();
+        snapshot.remove(id);
+        evictCached(List.of(mockEmployee));
+        log.info("Successfully deleted employee: {}", name);
+        return name;
+    }
+
+    /**
+     * Creates all inputs in one upstream round trip and applies the created employees to the snapshot in one update.
+     *
+     * @return one result per input, in input order; invalid inputs are reported, not thrown
+     */
+    public List<BatchItemResult<MockEmployee>> createEmployees(List<CreateMockEmployeeInput> inputs) {
+        log.debug("Creating {} employees in one batch", inputs.size());
+        List<BatchItemResult<MockEmployee>> results =
+                rateLimitingHandler.execute(CREATE_EMPLOYEES, () -> mockEmployeeClient.createBatch(inputs));
+        List<MockEmployee> created = results.stream()
+                .filter(BatchItemResult::succeeded)
+                .map(BatchItemResult::data)
+                .toList();
+        snapshot.putAll(created);
+        evictCached(created);
+        log.info("Created {} of {} employees", created.size(), inputs.size());
+        return results;
+    }
+
+    /**
+     * Deletes all ids in one upstream round trip and removes them from the snapshot in one update.
+     *
+     * @return one result per id, in input order; unknown ids are reported as not found
+     */
+    public List<BatchItemResult<MockEmployee>> deleteEmployeesById(List<UUID> ids) {
+        log.debug("Deleting {} employees in one batch", ids.size());
+        List<BatchItemResult<MockEmployee>> results =
+                rateLimitingHandler.execute(DELETE_EMPLOYEES, () -> mockEmployeeClient.deleteBatch(ids));
+        List<MockEmployee> deleted = results.stream()
+                .filter(BatchItemResult::succeeded)
+                .map(BatchItemResult::data)
+                .toList();
+        snapshot.removeAll(deleted.stream().map(MockEmployee::getId).toList());
+        evictCached(deleted);
+        log.info("Deleted {} of {} employees", deleted.size(), ids.size());
+        return results;
+    }
+
+    private void evictCached(Collection<MockEmployee> employees) {
+        evictCached(
+                employees.stream().map(MockEmployee::getId).toList(),
+                employees.stream().map(MockEmployee::getName).toList());
+    }
+
+    /*
+     * Evicts the given ids, and only the cached searches one of the names matches rather than every cached search.
+     * A null name stands for an employee whose name is unknown, and clears all searches.
+     */
+    private void evictCached(List<UUID> ids, List<String> names) {
+        var byId = cacheManager.getCache("employeeById");
+        if (byId != null) {
+            ids.stream().filter(Objects::nonNull).forEach(byId::evict);
+        }
+        var searches = cacheManager.getCache("searchEmployees");
+        if (searches == null) {
+            return;
+        }
+        if (!(searches instanceof CaffeineCache caffeine) || names.contains(null)) {
+            searches.clear();
+            return;
+        }
+        List<String> lowerCased = names.stream().map(String::toLowerCase).toList();
+        caffeine.getNativeCache().asMap().keySet().removeIf(key -> !(key instanceof String fragment)
+                || lowerCased.stream().anyMatch(name -> name.contains(fragment)));
+    }
+
+    private void clearCached() {
+        for (String name : List.of("employeeById", "searchEmployees")) {
+            var cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /*
+     * Waits for an upstream call, surfacing its failure the way the blocking client would have thrown it.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
 }
@@ -0,0 +1,87 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.UpstreamClientProperties;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.server.model.Capability;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which endpoints the upstream offers beyond the stock server's, asked once and then again every
+ * {@code mockemployee.client.capability-refresh}, so an upstream that is swapped or upgraded in place is noticed.
+ *
+ * <p>The probe goes through the {@link RateLimitingHandler} as call site {@code getCapabilities}. Concurrent callers
+ * share one probe; while it is in flight they wait on it, and when it fails the upstream is taken to offer nothing
+ * beyond the stock endpoints until the next one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpstreamCapabilities {
+
+    private static final String GET_CAPABILITIES = "getCapabilities";
+
+    private final UpstreamClientProperties properties;
+
+    private final MockEmployeeClient mockEmployeeClient;
+
+    private final RateLimitingHandler rateLimitingHandler;
+
+    private final AtomicReference<Probe> latest = new AtomicReference<>();
+
+    /**
+     * @return whether the upstream offers {@code capability}; never fails
+     */
+    public CompletableFuture<Boolean> supports(Capability capability) {
+        return offered().thenApply(offered -> offered.contains(capability));
+    }
+
+    /**
+     * @return the endpoints the upstream offers beyond the stock ones, as of the latest probe; never fails
+     */
+    public CompletableFuture<Set<Capability>> offered() {
+        final var current = latest.get();
+        final long now = System.nanoTime();
+        if (current != null
+                && (!current.result().isDone()
+                        || now - current.startedAt() < properties.getCapabilityRefresh().toNanos())) {
+            return current.result().copy();
+        }
+        final var next = new Probe(new CompletableFuture<>(), now);
+        if (!latest.compareAndSet(current, next)) {
+            // another caller started the probe first
+            return latest.get().result().copy();
+        }
+        final var previous = current != null ? current.result().getNow(null) : null;
+        probe().whenComplete((offered, failure) -> {
+            if (failure != null) {
+                log.warn(
+                        "Could not tell which endpoints the upstream offers, using the stock ones for {}s: {}",
+                        properties.getCapabilityRefresh().toSeconds(),
+                        failure.getMessage());
+                next.result().complete(Set.of());
+                return;
+            }
+            if (!offered.equals(previous)) {
+                log.info("Upstream offers {} beyond the stock endpoints.", offered.isEmpty() ? "nothing" : offered);
+            }
+            next.result().complete(offered);
+        });
+        return next.result().copy();
+    }
+
+    private CompletableFuture<Set<Capability>> probe() {
+        try {
+            return rateLimitingHandler.executeAsync(GET_CAPABILITIES, mockEmployeeClient::fetchCapabilitiesAsync);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private record Probe(CompletableFuture<Set<Capability>> result, long startedAt) {}
+}
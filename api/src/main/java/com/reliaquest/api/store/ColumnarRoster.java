@@ -0,0 +1,183 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Immutable, column-oriented copy of the roster: salaries and ages as {@code int[]}, ids as two {@code long[]}
+ * halves and titles dictionary-encoded into {@code int} codes.
+ *
+ * <p>Aggregations and filters walk the primitive arrays without unboxing or allocating per row; {@link MockEmployee}
+ * objects are only rebuilt for the rows a query returns. Missing salaries and ages are stored as 0 with a presence
+ * bit, so aggregates and filters skip them and they still round-trip as {@code null}.
+ */
+public final class ColumnarRoster {
+
+    private static final int NO_TITLE = -1;
+
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final BitSet idMissing;
+    private final String[] names;
+    private final String[] emails;
+    private final int[] salaries;
+    private final BitSet salaryMissing;
+    private final int[] ages;
+    private final BitSet ageMissing;
+    private final int[] titleCodes;
+    private final String[] titles;
+    private final Map<String, Integer> titleCodesByTitle;
+
+    private ColumnarRoster(Collection<MockEmployee> employees) {
+        size = employees.size();
+        idHigh = new long[size];
+        idLow = new long[size];
+        idMissing = new BitSet();
+        names = new String[size];
+        emails = new String[size];
+        salaries = new int[size];
+        salaryMissing = new BitSet();
+        ages = new int[size];
+        ageMissing = new BitSet();
+        titleCodes = new int[size];
+        titleCodesByTitle = new HashMap<>();
+        final List<String> dictionary = new ArrayList<>();
+
+        int row = 0;
+        for (final var employee : employees) {
+            if (employee.getId() != null) {
+                idHigh[row] = employee.getId().getMostSignificantBits();
+                idLow[row] = employee.getId().getLeastSignificantBits();
+            } else {
+                idMissing.set(row);
+            }
+            names[row] = employee.getName();
+            emails[row] = employee.getEmail();
+            if (employee.getSalary() != null) {
+                salaries[row] = employee.getSalary();
+            } else {
+                salaryMissing.set(row);
+            }
+            if (employee.getAge() != null) {
+                ages[row] = employee.getAge();
+            } else {
+                ageMissing.set(row);
+            }
+            titleCodes[row] = employee.getTitle() == null
+                    ? NO_TITLE
+                    : titleCodesByTitle.computeIfAbsent(employee.getTitle(), title -> {
+                        dictionary.add(title);
+                        return dictionary.size() - 1;
+                    });
+            row++;
+        }
+        titles = dictionary.toArray(String[]::new);
+    }
+
+    /**
+     * @param employees in the order rows should keep
+     */
+    public static ColumnarRoster of(@NonNull Collection<MockEmployee> employees) {
+        return new ColumnarRoster(employees);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of distinct titles
+     */
+    public int titleCount() {
+        return titles.length;
+    }
+
+    /**
+     * Rebuilds the employee stored at {@code row}.
+     */
+    public MockEmployee row(int row) {
+        return new MockEmployee(
+                idMissing.get(row) ? null : new UUID(idHigh[row], idLow[row]),
+                names[row],
+                salaryMissing.get(row) ? null : salaries[row],
+                ageMissing.get(row) ? null : ages[row],
+                titleCodes[row] == NO_TITLE ? null : titles[titleCodes[row]],
+                emails[row]);
+    }
+
+    public SalaryStats salaryStats() {
+        int count = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (!salaryMissing.get(row)) {
+                final int salary = salaries[row];
+                count++;
+                min = Math.min(min, salary);
+                max = Math.max(max, salary);
+                total += salary;
+            }
+        }
+        return SalaryStats.of(count, min, max, total);
+    }
+
+    /**
+     * @return salary statistics over employees holding exactly {@code title}; empty stats for an unknown title
+     */
+    public SalaryStats salaryStats(@NonNull String title) {
+        final Integer code = titleCodesByTitle.get(title);
+        if (code == null) {
+            return SalaryStats.of(0, 0, 0, 0);
+        }
+        final int wanted = code;
+        int count = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (titleCodes[row] == wanted && !salaryMissing.get(row)) {
+                final int salary = salaries[row];
+                count++;
+                min = Math.min(min, salary);
+                max = Math.max(max, salary);
+                total += salary;
+            }
+        }
+        return SalaryStats.of(count, min, max, total);
+    }
+
+    /**
+     * @return employees aged {@code minAge} to {@code maxAge} inclusive, in row order; rows without an age are
+     * skipped
+     */
+    public List<MockEmployee> filterByAge(int minAge, int maxAge) {
+        final List<MockEmployee> matches = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            final int age = ages[row];
+            if (age >= minAge && age <= maxAge && !ageMissing.get(row)) {
+                matches.add(row(row));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @param count employees with a salary; those without one are left out of every figure
+     * @param average mean salary, or 0 when {@code count} is 0
+     */
+    public record SalaryStats(int count, int min, int max, double average) {
+
+        private static SalaryStats of(int count, int min, int max, long total) {
+            return count == 0 ? new SalaryStats(0, 0, 0, 0) : new SalaryStats(count, min, max, (double) total / count);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * In-process copy of the upstream employee roster.
+ *
+ * <p>The snapshot is loaded once from the full upstream list; afterwards, writes made through the API are applied in
+ * place so lookups by id, the name index and the salary ordering stay current without re-fetching the list. Each
+ * write costs O(log n). Writes against a snapshot that was never loaded are ignored, the next full load picks them up.
+ *
+ * <p>A full load can be fed one employee at a time through a {@link Loader}, which builds fresh indexes off to the
+ * side while the current ones keep serving reads, and swaps them in when the load completes.
+ *
+ * <p>When the upstream versions its roster, the snapshot remembers the version it was loaded at and can be caught up
+ * with {@link #applyChanges(EmployeeChanges)} instead of another full load.
+ */
+public class EmployeeSnapshot {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /*
+     * Guarded by lock; replaced wholesale by a full load.
+     */
+    private Indexes indexes = new Indexes();
+
+    private volatile boolean loaded;
+    private volatile long loadedAtNanos;
+    /*
+     * Null when the upstream does not version its roster.
+     */
+    private volatile RosterVersion version;
+    private volatile List<MockEmployee> allView = List.of();
+
+    /*
+     * Built on first use after a write, for scans the indexes do not cover.
+     */
+    private volatile ColumnarRoster columnarView;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return whether the snapshot was last known to match the upstream longer than {@code maxAge} ago, by a full
+     * load or by changes that caught it up; writes applied in place do not count.
+     */
+    public boolean isOlderThan(@NonNull Duration maxAge) {
+        return loaded && System.nanoTime() - loadedAtNanos > maxAge.toNanos();
+    }
+
+    /**
+     * @return time since the snapshot was last known to match the upstream, or empty before the first load
+     */
+    public Optional<Duration> age() {
+        return loaded ? Optional.of(Duration.ofNanos(System.nanoTime() - loadedAtNanos)) : Optional.empty();
+    }
+
+    /**
+     * @return the upstream roster version the snapshot reflects, or empty when the upstream does not version it
+     */
+    public Optional<RosterVersion> version() {
+        return Optional.ofNullable(version);
+    }
+
+    public static Loader loader() {
+        return new Loader();
+    }
+
+    public void replaceAll(@NonNull Collection<MockEmployee> employees) {
+        final var loader = loader();
+        employees.forEach(loader::add);
+        replaceAll(loader);
+    }
+
+    /**
+     * Installs everything fed to {@code loader} as the new roster; the loader cannot be used afterwards.
+     */
+    public void replaceAll(@NonNull Loader loader) {
+        final var installedVersion = loader.version;
+        final var installed = loader.finish();
+        lock.writeLock().lock();
+        try {
+            indexes = installed;
+            version = installedVersion;
+            allView = null;
+            columnarView = null;
+            loadedAtNanos = System.nanoTime();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Catches the snapshot up with changes read from the upstream change log, in the epoch of the snapshot's version.
+     * Changes at or below the snapshot's version are skipped, a load already covered them; the rest must continue from
+     * it without a gap.
+     *
+     * @return false, leaving the snapshot untouched, when it has no version to continue from or the changes skip
+     * some; it then needs a full load
+     */
+    public boolean applyChanges(@NonNull EmployeeChanges changes) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded || version == null) {
+                return false;
+            }
+            final long current = version.version();
+            long expected = current + 1;
+            for (final var change : changes.changes()) {
+                if (change.version() >= expected) {
+                    if (change.version() != expected) {
+                        return false;
+                    }
+                    expected++;
+                }
+            }
+            if (changes.version() >= expected) {
+                return false;
+            }
+
+            boolean applied = false;
+            for (final var change : changes.changes()) {
+                if (change.version() > current) {
+                    if (change.type() == EmployeeChange.Type.CREATED) {
+                        indexes.put(change.employee());
+                    } else {
+                        indexes.remove(change.id());
+                    }
+                    applied = true;
+                }
+            }
+            if (applied) {
+                allView = null;
+                columnarView = null;
+            }
+            version = version.at(Math.max(current, changes.version()));
+            if (!changes.more()) {
+                loadedAtNanos = System.nanoTime();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(@NonNull MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            indexes.put(employee);
+            allView = null;
+            columnarView = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a batch of creates under one write lock.
+     */
+    public void putAll(@NonNull Collection<MockEmployee> employees) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded || employees.isEmpty()) {
+                return;
+            }
+            employees.forEach(indexes::put);
+            allView = null;
+            columnarView = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a batch of deletes under one write lock.
+     *
+     * @return how many of the ids were present
+     */
+    public int removeAll(@NonNull Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (final var id : ids) {
+                if (indexes.remove(id).isPresent()) {
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                allView = null;
+                columnarView = null;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<MockEmployee> remove(@NonNull UUID id) {
+        lock.writeLock().lock();
+        try {
+            final var removed = indexes.remove(id);
+            if (removed.isPresent()) {
+                allView = null;
+                columnarView = null;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(indexes.byId.get(id)).map(Entry::employee);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return all employees in upstream order; the list is immutable and shared until the next write.
+     */
+    public List<MockEmployee> all() {
+        final var view = allView;
+        if (view != null) {
+            return view;
+        }
+        lock.readLock().lock();
+        try {
+            final var rebuilt = indexes.byId.values().stream().map(Entry::employee).toList();
+            allView = rebuilt;
+            return rebuilt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return a columnar copy of the roster in upstream order, shared until the next write
+     */
+    public ColumnarRoster columnar() {
+        final var view = columnarView;
+        if (view != null) {
+            return view;
+        }
+        lock.readLock().lock();
+        try {
+            final var rebuilt = ColumnarRoster.of(indexes.byId.values().stream().map(Entry::employee).toList());
+            columnarView = rebuilt;
+            return rebuilt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return employees, in upstream order, whose lower-cased name contains the lower-cased {@code fragment}.
+     */
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        lock.readLock().lock();
+        try {
+            return indexes.byName.search(fragment);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int highestSalary() {
+        lock.readLock().lock();
+        try {
+            return indexes.bySalary.max().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<MockEmployee> topEarners(int limit) {
+        lock.readLock().lock();
+        try {
+            return indexes.bySalary.topK(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @see SalaryIndex#percentile(double)
+     */
+    public OptionalInt salaryPercentile(double percentile) {
+        lock.readLock().lock();
+        try {
+            return indexes.bySalary.percentile(percentile);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexes.byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accumulates a full load, indexing each employee as it is added. Not thread-safe; meant to be fed by a single
+     * parser and then handed to {@link #replaceAll(Loader)}.
+     */
+    public static final class Loader {
+
+        private Indexes indexes = new Indexes();
+        private RosterVersion version;
+
+        private Loader() {}
+
+        /**
+         * Records the upstream roster version the employees fed to this loader reflect.
+         */
+        public Loader atVersion(RosterVersion version) {
+            this.version = version;
+            return this;
+        }
+
+        public Loader add(@NonNull MockEmployee employee) {
+            if (indexes == null) {
+                throw new IllegalStateException("Loader was already installed");
+            }
+            indexes.put(employee);
+            return this;
+        }
+
+        public int size() {
+            return indexes == null ? 0 : indexes.byId.size();
+        }
+
+        private Indexes finish() {
+            if (indexes == null) {
+                throw new IllegalStateException("Loader was already installed");
+            }
+            final var finished = indexes;
+            indexes = null;
+            return finished;
+        }
+    }
+
+    private static final class Indexes {
+
+        private final Map<UUID, Entry> byId = new LinkedHashMap<>();
+
+        /*
+         * Keyed by insertion sequence, so salary ties keep the upstream order, same as a stable sort of the list
+         * would.
+         */
+        private final SalaryIndex<MockEmployee> bySalary = new SalaryIndex<>();
+        private final NameNgramIndex<MockEmployee> byName = new NameNgramIndex<>();
+
+        private long nextSeq;
+
+        private void put(MockEmployee employee) {
+            Objects.requireNonNull(employee.getId(), "employee id");
+            final var previous = byId.get(employee.getId());
+            final var entry = new Entry(previous != null ? previous.seq() : nextSeq++, employee);
+            byId.put(employee.getId(), entry);
+            bySalary.add(entry.seq(), entry.salary(), employee);
+            byName.add(entry.seq(), employee.getName(), employee);
+        }
+
+        private Optional<MockEmployee> remove(UUID id) {
+            final var entry = byId.remove(id);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            bySalary.remove(entry.seq());
+            byName.remove(entry.seq());
+            return Optional.of(entry.employee());
+        }
+    }
+
+    private record Entry(long seq, MockEmployee employee) {
+
+        int salary() {
+            return employee.getSalary() != null ? employee.getSalary() : 0;
+        }
+    }
+}
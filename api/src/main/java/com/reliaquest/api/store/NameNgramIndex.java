@@ -0,0 +1,129 @@
+package com.reliaquest.api.store;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.NonNull;
+
+/**
+ * Inverted index answering "lower-cased name contains lower-cased fragment" without scanning every name.
+ *
+ * <p>Every substring of length 1 to {@value #GRAM_LENGTH} of each lower-cased name is indexed, so fragments up to
+ * that length resolve to a single posting list. Longer fragments intersect the postings of their trigrams, starting
+ * from the smallest, and confirm the few surviving candidates with {@link String#contains}. Results are returned in
+ * ascending key order. Not thread-safe; {@link EmployeeSnapshot} guards it with its own lock.
+ *
+ * @param <T> value returned for a matching name
+ */
+public class NameNgramIndex<T> {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Document<T>> documents = new HashMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+
+    public void add(long key, String name, @NonNull T value) {
+        remove(key);
+        if (name == null) {
+            return;
+        }
+        final var lowerName = name.toLowerCase();
+        documents.put(key, new Document<>(lowerName, value));
+        for (String gram : grams(lowerName)) {
+            postings.computeIfAbsent(gram, ignored -> new TreeSet<>()).add(key);
+        }
+    }
+
+    public void remove(long key) {
+        final var document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        for (String gram : grams(document.lowerName())) {
+            final var posting = postings.get(gram);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public void clear() {
+        documents.clear();
+        postings.clear();
+    }
+
+    /**
+     * @return values whose name contains {@code fragment}, ignoring case the same way {@link String#toLowerCase()}
+     * does; an empty fragment matches every indexed name.
+     */
+    public List<T> search(@NonNull String fragment) {
+        final var needle = fragment.toLowerCase();
+        if (needle.isEmpty()) {
+            return documents.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> entry.getValue().value())
+                    .toList();
+        }
+        if (needle.length() <= GRAM_LENGTH) {
+            final var posting = postings.get(needle);
+            return posting == null ? List.of() : values(posting);
+        }
+
+        final List<NavigableSet<Long>> candidates = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            final var posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            candidates.add(posting);
+        }
+        candidates.sort(Comparator.comparingInt(Set::size));
+
+        final var smallest = candidates.get(0);
+        final var others = candidates.subList(1, candidates.size());
+        final List<T> matches = new ArrayList<>();
+        for (Long key : smallest) {
+            if (others.stream().allMatch(posting -> posting.contains(key))) {
+                final var document = documents.get(key);
+                if (document.lowerName().contains(needle)) {
+                    matches.add(document.value());
+                }
+            }
+        }
+        return matches;
+    }
+
+    private List<T> values(Set<Long> keys) {
+        final List<T> values = new ArrayList<>(keys.size());
+        keys.forEach(key -> values.add(documents.get(key).value()));
+        return values;
+    }
+
+    private static Set<String> grams(String lowerName) {
+        final Set<String> grams = new LinkedHashSet<>();
+        for (int start = 0; start < lowerName.length(); start++) {
+            final int maxEnd = Math.min(lowerName.length(), start + GRAM_LENGTH);
+            for (int end = start + 1; end <= maxEnd; end++) {
+                grams.add(lowerName.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String needle) {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= needle.length(); start++) {
+            trigrams.add(needle.substring(start, start + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private record Document<T>(String lowerName, T value) {}
+}
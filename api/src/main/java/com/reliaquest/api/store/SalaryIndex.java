@@ -0,0 +1,225 @@
+package com.reliaquest.api.store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SplittableRandom;
+import lombok.NonNull;
+
+/**
+ * Salary-ordered, order-statistic index: a treap sorted by salary (highest first, ties by ascending key) whose nodes
+ * carry their subtree size.
+ *
+ * <p>Insert and remove cost O(log n), {@link #max()} is O(1) (the highest node is tracked on every write),
+ * {@link #topK(int)} is O(log n + k) and {@link #percentile(double)} selects by rank in O(log n). Not thread-safe;
+ * {@link EmployeeSnapshot} guards it with its own lock.
+ *
+ * @param <T> value stored for each salary
+ */
+public class SalaryIndex<T> {
+
+    private final SplittableRandom priorities = new SplittableRandom();
+    private final Map<Long, Node<T>> nodes = new HashMap<>();
+
+    private Node<T> root;
+    private Node<T> highest;
+
+    public void add(long key, int salary, @NonNull T value) {
+        remove(key);
+        final var node = new Node<>(key, salary, value, priorities.nextInt());
+        nodes.put(key, node);
+        root = insert(root, node);
+        if (highest == null || precedes(node, highest)) {
+            highest = node;
+        }
+    }
+
+    public void remove(long key) {
+        final var node = nodes.remove(key);
+        if (node == null) {
+            return;
+        }
+        root = delete(root, node);
+        if (node == highest) {
+            highest = leftmost(root);
+        }
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+        highest = null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public OptionalInt max() {
+        return highest == null ? OptionalInt.empty() : OptionalInt.of(highest.salary);
+    }
+
+    /**
+     * @return values of the {@code k} highest salaries, highest first; ties keep ascending key order.
+     */
+    public List<T> topK(int k) {
+        final List<T> top = new ArrayList<>(Math.max(0, Math.min(k, size())));
+        final var path = new ArrayDeque<Node<T>>();
+        var current = root;
+        while (top.size() < k && (current != null || !path.isEmpty())) {
+            while (current != null) {
+                path.push(current);
+                current = current.left;
+            }
+            final var next = path.pop();
+            top.add(next.value);
+            current = next.right;
+        }
+        return top;
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest salary such that at least {@code percentile}% of salaries are less than
+     * or equal to it.
+     *
+     * @param percentile between 0 and 100, inclusive
+     */
+    public OptionalInt percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        final int count = size();
+        if (count == 0) {
+            return OptionalInt.empty();
+        }
+        final int ascendingRank = Math.max(1, (int) Math.ceil(percentile / 100 * count));
+        return OptionalInt.of(select(root, count - ascendingRank).salary);
+    }
+
+    private static <T> Node<T> select(Node<T> node, int index) {
+        while (true) {
+            final int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            final var split = split(node, inserted);
+            inserted.left = split[0];
+            inserted.right = split[1];
+            return update(inserted);
+        }
+        if (precedes(inserted, node)) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    private static <T> Node<T> delete(Node<T> node, Node<T> deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (precedes(deleted, node)) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        return update(node);
+    }
+
+    /*
+     * Splits into nodes ordered before the pivot and nodes ordered after it.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] split(Node<T> node, Node<T> pivot) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (precedes(node, pivot)) {
+            final var split = split(node.right, pivot);
+            node.right = split[0];
+            split[0] = update(node);
+            return split;
+        }
+        final var split = split(node.left, pivot);
+        node.left = split[1];
+        split[1] = update(node);
+        return split;
+    }
+
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static <T> Node<T> leftmost(Node<T> node) {
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static boolean precedes(Node<?> a, Node<?> b) {
+        if (a.salary != b.salary) {
+            return a.salary > b.salary;
+        }
+        return a.key < b.key;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static final class Node<T> {
+
+        private final long key;
+        private final int salary;
+        private final T value;
+        private final int priority;
+
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(long key, int salary, T value, int priority) {
+            this.key = key;
+            this.salary = salary;
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Stops calling an upstream that is throttling us. Opens for the upstream's {@code Retry-After}, or for a fixed
+ * duration after a run of 429s without one; once that elapses a single probe call is let through, and its outcome
+ * closes or re-opens the circuit. A probe that is let through but never sent must be handed back with
+ * {@link #releaseProbe()}, or the circuit would stay half-open with nothing to close it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public enum Permit {
+        DENIED,
+        GRANTED,
+        /*
+         * Granted as the single call that decides whether an open circuit closes.
+         */
+        PROBE
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong openUntilNanos = new AtomicLong();
+    private final AtomicInteger consecutiveRateLimits = new AtomicInteger();
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * @return whether a call may go upstream now, and whether it is the probe
+     */
+    public Permit tryAcquire() {
+        return switch (state.get()) {
+            case CLOSED -> Permit.GRANTED;
+            case HALF_OPEN -> Permit.DENIED;
+            case OPEN -> System.nanoTime() - openUntilNanos.get() >= 0
+                            && state.compareAndSet(State.OPEN, State.HALF_OPEN)
+                    ? Permit.PROBE
+                    : Permit.DENIED;
+        };
+    }
+
+    /**
+     * Returns a {@link Permit#PROBE} that did not reach the upstream; the circuit is open again and the next caller
+     * probes instead.
+     */
+    public void releaseProbe() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    /**
+     * Records a call that was not throttled, whether or not it succeeded otherwise.
+     */
+    public void onAccepted() {
+        consecutiveRateLimits.set(0);
+        state.set(State.CLOSED);
+    }
+
+    /**
+     * @param retryAfter what the upstream asked for, or {@code null} when it did not say
+     */
+    public void onRateLimited(Duration retryAfter) {
+        final int count = consecutiveRateLimits.incrementAndGet();
+        if (retryAfter != null) {
+            open(retryAfter);
+        } else if (count >= failureThreshold || state.get() == State.HALF_OPEN) {
+            open(openDuration);
+        }
+    }
+
+    /**
+     * @return how long until the circuit lets a probe through; zero unless it is open
+     */
+    public Duration remainingOpen() {
+        if (state.get() != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos.get() - System.nanoTime()));
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open(Duration duration) {
+        openUntilNanos.set(System.nanoTime() + duration.toNanos());
+        state.set(State.OPEN);
+    }
+}
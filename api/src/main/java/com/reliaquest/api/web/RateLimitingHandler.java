@@ -1,35 +1,363 @@
 package com.reliaquest.api.web;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * Resilience layer around upstream calls: retries rate-limited (429), server (5xx) and I/O failures with the
+ * {@link RetryPolicy} configured for the call site, honours {@code Retry-After}, and fails fast through a
+ * {@link CircuitBreaker} while the upstream is throttling us. Writes retry only 429s unless their policy says
+ * otherwise, since a 5xx or a timeout does not tell whether the upstream applied them.
+ *
+ * <p>Every attempt, retries included, first takes a token from a {@link TokenBucket} paced to the upstream's quota.
+ * Reads are shed locally with a 429 when only the write reserve is left; writes queue briefly for a token.
+ *
+ * <p>Asynchronous calls wait between attempts on a timer instead of a thread. Blocking calls sleep the calling thread,
+ * which is cheap when it is a virtual thread.
+ *
+ * <p>Every attempt is timed as {@code employee.upstream.requests}, tagged with its call site and outcome. Each 429
+ * handed back to a caller counts towards {@code employee.rate.limit.rejections}, tagged with why: the upstream kept
+ * throttling, the circuit was open, or the local quota was spent. The token bucket's current refill rate is published
+ * as {@code employee.rate.limit.refill.rate}.
+ */
 @Slf4j
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
 public class RateLimitingHandler {
 
-    public static <T> T retryOnRateLimit(Supplier<T> supplier) {
+    private final ResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final TokenBucket tokenBucket;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitingHandler(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration());
+        ResilienceProperties.RateLimiterSettings limiter = properties.getRateLimiter();
+        this.tokenBucket = limiter.isEnabled()
+                ? new TokenBucket(
+                        limiter.getCapacity(),
+                        limiter.getWriteReserve(),
+                        limiter.getPermitsPerPeriod(),
+                        limiter.getMinPermitsPerPeriod(),
+                        limiter.getPeriod())
+                : null;
+        if (tokenBucket != null) {
+            Gauge.builder("employee.rate.limit.refill.rate", tokenBucket, TokenBucket::getRate)
+                    .description("Tokens the client-side limiter refills per second, lowered after upstream 429s")
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T execute(String callSite, Supplier<T> call) {
+        RetryPolicy policy = properties.policyFor(callSite);
+        for (int attempt = 1; ; attempt++) {
+            Admission admission = acquire(callSite);
+            try {
+                if (!admission.tokenWait().isZero()) {
+                    Thread.sleep(admission.tokenWait());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(admission);
+                throw rateLimitExceeded(admission.tokenWait());
+            }
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                recordAttempt(callSite, start, null);
+                onAccepted();
+                return result;
+            } catch (RuntimeException ex) {
+                recordAttempt(callSite, start, ex);
+                Duration delay = nextDelay(callSite, policy, attempt, ex);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw translate(ex);
+                }
+            }
+        }
+    }
+
+    public <T> CompletableFuture<T> executeAsync(String callSite, Supplier<CompletableFuture<T>> call) {
+        return attemptAsync(callSite, properties.policyFor(callSite), 1, call);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * @return how long until a call on {@code callSite} would be let through without waiting: the rest of the
+     * upstream's {@code Retry-After} while the circuit is open, or the wait for a token once the local quota is spent
+     */
+    public Duration getRetryAfter(String callSite) {
+        Duration retryAfter = circuitBreaker.remainingOpen();
+        if (tokenBucket != null) {
+            TokenBucket.Priority priority =
+                    properties.isWrite(callSite) ? TokenBucket.Priority.WRITE : TokenBucket.Priority.READ;
+            Duration tokenWait = tokenBucket.timeUntilAvailable(priority);
+            if (tokenWait.compareTo(retryAfter) > 0) {
+                retryAfter = tokenWait;
+            }
+        }
+        return retryAfter;
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(
+            String callSite, RetryPolicy policy, int attempt, Supplier<CompletableFuture<T>> call) {
+        Duration wait;
+        try {
+            // once admitted the call is always made, the timer below cannot be interrupted
+            wait = acquire(callSite).tokenWait();
+        } catch (ResponseStatusException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        CompletableFuture<T> result;
+        if (wait.isZero()) {
+            result = timed(callSite, call);
+        } else {
+            Executor afterWait = CompletableFuture.delayedExecutor(wait.toNanos(), TimeUnit.NANOSECONDS);
+            result = CompletableFuture.runAsync(() -> {}, afterWait).thenCompose(ignored -> timed(callSite, call));
+        }
+
+        return result.handle((value, failure) -> {
+                    if (failure == null) {
+                        onAccepted();
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    Duration delay;
+                    try {
+                        delay = nextDelay(callSite, policy, attempt, unwrap(failure));
+                    } catch (RuntimeException giveUp) {
+                        return CompletableFuture.<T>failedFuture(giveUp);
+                    }
+                    Executor afterDelay = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS);
+                    return CompletableFuture.runAsync(() -> {}, afterDelay)
+                            .thenCompose(ignored -> attemptAsync(callSite, policy, attempt + 1, call));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> timed(String callSite, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        return call(call).whenComplete((value, failure) -> recordAttempt(callSite, start, failure));
+    }
+
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /*
+     * Returns how long to hold the call back for its token, or throws when it must not be made at all. A call that
+     * got the circuit's probe and is then shed hands the probe back, so a later call can close the circuit.
+     */
+    private Admission acquire(String callSite) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.Permit.DENIED) {
+            log.debug("Circuit open, not calling upstream for {}", callSite);
+            countRejection(callSite, "circuit_open");
+            throw rateLimitExceeded(circuitBreaker.remainingOpen());
+        }
+        Admission admission = new Admission(Duration.ZERO, permit == CircuitBreaker.Permit.PROBE);
+        if (tokenBucket == null) {
+            return admission;
+        }
+        ResilienceProperties.RateLimiterSettings limiter = properties.getRateLimiter();
+        TokenBucket.Priority priority =
+                properties.isWrite(callSite) ? TokenBucket.Priority.WRITE : TokenBucket.Priority.READ;
+        Optional<Duration> wait = tokenBucket.reserve(priority, limiter.getMaxWriteWait());
+        if (wait.isEmpty()) {
+            abandon(admission);
+            log.warn("Upstream quota spent, shedding {} locally", callSite);
+            countRejection(callSite, "local_quota");
+            throw rateLimitExceeded(tokenBucket.timeUntilAvailable(priority));
+        }
+        return new Admission(wait.get(), admission.probe());
+    }
+
+    private void abandon(Admission admission) {
+        if (admission.probe()) {
+            circuitBreaker.releaseProbe();
+        }
+    }
+
+    private void onAccepted() {
+        circuitBreaker.onAccepted();
+        if (tokenBucket != null) {
+            tokenBucket.onAccepted();
+        }
+    }
+
+    /*
+     * Either returns how long to wait before the next attempt, or throws what the caller should see.
+     */
+    private Duration nextDelay(String callSite, RetryPolicy policy, int attempt, Throwable failure) {
+        boolean attemptsLeft = attempt < policy.getMaxAttempts();
+        boolean write = properties.isWrite(callSite);
+
+        if (failure instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+            Optional<Duration> retryAfter = retryAfter(tooManyRequests.getResponseHeaders());
+            circuitBreaker.onRateLimited(retryAfter.orElse(null));
+            if (tokenBucket != null) {
+                tokenBucket.onRateLimited();
+            }
+            boolean worthWaiting = retryAfter.isEmpty() || retryAfter.get().compareTo(policy.getMaxRetryAfter()) <= 0;
+            if (attemptsLeft && worthWaiting && policy.retries(RetryPolicy.Failure.RATE_LIMITED, write)) {
+                Duration delay = retryAfter.orElseGet(() -> policy.backoff(attempt));
+                log.warn("Rate limit hit calling {} (attempt {}/{}), retrying in {} ms",
+                        callSite, attempt, policy.getMaxAttempts(), delay.toMillis());
+                return delay;
+            }
+            log.warn("Rate limit hit calling {}, giving up after {} attempt(s). Retry-After: {}",
+                    callSite, attempt, retryAfter.map(Duration::toSeconds).orElse(null));
+            countRejection(callSite, "upstream");
+            throw rateLimitExceeded(retryAfter.orElseGet(circuitBreaker::remainingOpen));
+        }
+
+        circuitBreaker.onAccepted();
+        RetryPolicy.Failure transientFailure = transientFailure(failure);
+        if (transientFailure != null && attemptsLeft && policy.retries(transientFailure, write)) {
+            Duration delay = policy.backoff(attempt);
+            log.warn("Upstream call {} failed (attempt {}/{}): {}, retrying in {} ms",
+                    callSite, attempt, policy.getMaxAttempts(), failure.getMessage(), delay.toMillis());
+            return delay;
+        }
+        throw translate(failure);
+    }
+
+    private static RetryPolicy.Failure transientFailure(Throwable failure) {
+        if (failure instanceof HttpServerErrorException) {
+            return RetryPolicy.Failure.SERVER_ERROR;
+        }
+        if (failure instanceof ResourceAccessException) {
+            return RetryPolicy.Failure.IO_ERROR;
+        }
+        return null;
+    }
+
+    private void recordAttempt(String callSite, long startNanos, Throwable failure) {
+        Timer.builder("employee.upstream.requests")
+                .description("Upstream calls, one per attempt")
+                .tag("call.site", callSite)
+                .tag("outcome", outcome(failure))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void countRejection(String callSite, String reason) {
+        meterRegistry
+                .counter("employee.rate.limit.rejections", "call.site", callSite, "reason", reason)
+                .increment();
+    }
+
+    private static String outcome(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        Throwable cause = unwrap(failure);
+        if (cause instanceof HttpClientErrorException.TooManyRequests) {
+            return "rate_limited";
+        }
+        if (cause instanceof HttpClientErrorException) {
+            return "client_error";
+        }
+        if (cause instanceof HttpServerErrorException) {
+            return "server_error";
+        }
+        if (cause instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    private static RuntimeException translate(Throwable failure) {
+        if (failure instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+            return rateLimitExceeded(retryAfter(tooManyRequests.getResponseHeaders()).orElse(Duration.ZERO));
+        }
+        if (failure instanceof HttpClientErrorException clientError) {
+            log.error("HTTP error occurred while calling external API: {}", clientError.getStatusCode(), clientError);
+            return new RuntimeException("HTTP error occurred: " + clientError.getStatusCode(), clientError);
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CompletionException(failure);
+    }
+
+    private static ResponseStatusException rateLimitExceeded(Duration retryAfter) {
+        String message = "Rate limit exceeded.";
+        if (!retryAfter.isZero()) {
+            message += " Retry after " + Math.max(1, retryAfter.toSeconds()) + " seconds.";
+        }
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+
+    /*
+     * Retry-After is either delay-seconds or an HTTP-date.
+     */
+    private static Optional<Duration> retryAfter(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
         try {
-            return supplier.get();
-        } catch (HttpClientErrorException.TooManyRequests ex) {
-            HttpHeaders headers = ex.getResponseHeaders();
-            String retryAfter = headers != null ? headers.getFirst("Retry-After") : null;
-
-            String message = "Rate limit exceeded.";
-            if (retryAfter != null) {
-                message += " Retry after " + retryAfter + " seconds.";
-                log.warn("Rate limit hit. Retry-After: {} seconds", retryAfter);
-            } else {
-                log.warn("Rate limit hit. No Retry-After header provided.");
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException unparseable) {
+                log.warn("Ignoring unparseable Retry-After header: {}", value);
+                return Optional.empty();
             }
+        }
+    }
+
+    /*
+     * Leave to call upstream after waiting for a token; a probe must reach the upstream or be abandoned.
+     */
+    private record Admission(Duration tokenWait, boolean probe) {}
 
-            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, message);
-        } catch (HttpClientErrorException ex) {
-            log.error("HTTP error occurred while calling external API: {}", ex.getStatusCode(), ex);
-            throw new RuntimeException("HTTP error occurred: " + ex.getStatusCode(), ex);
+    private static Throwable unwrap(Throwable failure) {
+        while ((failure instanceof CompletionException || failure instanceof ExecutionException)
+                && failure.getCause() != null) {
+            failure = failure.getCause();
         }
+        return failure;
     }
 }
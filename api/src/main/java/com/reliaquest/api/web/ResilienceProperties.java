@@ -0,0 +1,84 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Retry and circuit breaker settings for upstream calls, bound from {@code mockemployee.resilience.*}. Policies are
+ * looked up by call site name and fall back to {@link #getDefaults()}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mockemployee.resilience")
+public class ResilienceProperties {
+
+    private final RetryPolicy defaults = new RetryPolicy();
+
+    private final Map<String, RetryPolicy> policies = new LinkedHashMap<>();
+
+    private final CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    private final RateLimiterSettings rateLimiter = new RateLimiterSettings();
+
+    public RetryPolicy policyFor(String callSite) {
+        return policies.getOrDefault(callSite, defaults);
+    }
+
+    /**
+     * @return whether the call site changes the upstream roster, see {@link RateLimiterSettings#getWriteCallSites()}
+     */
+    public boolean isWrite(String callSite) {
+        return rateLimiter.getWriteCallSites().contains(callSite);
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+
+        /*
+         * Consecutive 429s without a Retry-After header that open the circuit.
+         */
+        private int failureThreshold = 3;
+
+        /*
+         * How long the circuit stays open when the upstream did not say; the mock server backs off for 30-90s.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class RateLimiterSettings {
+
+        private boolean enabled = true;
+
+        /*
+         * The stock mock server allows 5-10 requests and then locks us out for 30-90s; these defaults stay under
+         * the strictest combination.
+         */
+        private int capacity = 4;
+
+        private int permitsPerPeriod = 4;
+
+        private Duration period = Duration.ofSeconds(90);
+
+        /*
+         * Floor for the adaptive rate after repeated 429s.
+         */
+        private int minPermitsPerPeriod = 1;
+
+        /*
+         * Tokens only writes may take, so reads cannot starve them.
+         */
+        private int writeReserve = 1;
+
+        /*
+         * Longest a write queues for a token before it is shed; reads never wait.
+         */
+        private Duration maxWriteWait = Duration.ofSeconds(2);
+
+        private Set<String> writeCallSites =
+                Set.of("createEmployee", "deleteEmployee", "createEmployees", "deleteEmployees");
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Data;
+
+/**
+ * How one upstream call site retries: exponential backoff with jitter, honouring {@code Retry-After} when the wait it
+ * asks for is short enough to be worth holding the request.
+ */
+@Data
+public class RetryPolicy {
+
+    public enum Failure {
+        RATE_LIMITED,
+        SERVER_ERROR,
+        IO_ERROR
+    }
+
+    /*
+     * Including the first attempt; 1 disables retries.
+     */
+    private int maxAttempts = 3;
+
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    private double multiplier = 2.0;
+
+    /*
+     * Fraction of each backoff that is randomised away, so callers throttled together do not retry together.
+     */
+    private double jitter = 0.5;
+
+    /*
+     * Longest Retry-After we wait out; longer ones fail fast and keep the circuit open for that long instead.
+     */
+    private Duration maxRetryAfter = Duration.ofSeconds(2);
+
+    /*
+     * Failures worth another attempt. Unset, reads retry all of them and writes only 429s: a write that failed with
+     * a 5xx or timed out may still have been applied upstream, and replaying it would apply it twice.
+     */
+    private Set<Failure> retryOn;
+
+    boolean retries(Failure failure, boolean write) {
+        if (retryOn != null) {
+            return retryOn.contains(failure);
+        }
+        return !write || failure == Failure.RATE_LIMITED;
+    }
+
+    Duration backoff(int attempt) {
+        final double exponential = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+        final double capped = Math.min(maxBackoff.toNanos(), exponential);
+        final double jittered = capped * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofNanos((long) jittered);
+    }
+}
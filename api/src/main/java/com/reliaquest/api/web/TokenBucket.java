@@ -0,0 +1,106 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Client-side pacing for upstream calls, so we stay under the upstream's quota instead of discovering it through a
+ * 429 and its lockout.
+ *
+ * <p>Reads take a token only while more than {@code writeReserve} tokens are left and are shed otherwise. Writes may
+ * also take the reserve, and when the bucket is empty they queue: the token is borrowed from the future and the
+ * caller is told how long to wait for it, up to a limit. The refill rate adapts AIMD-style, halving on every 429 the
+ * upstream still returns and creeping back up to the configured rate with each accepted call.
+ *
+ * <p>All operations are a few arithmetic steps under one monitor.
+ */
+public class TokenBucket {
+
+    public enum Priority {
+        READ,
+        WRITE
+    }
+
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_FRACTION = 0.05;
+
+    private final double capacity;
+    private final double writeReserve;
+    private final double maxRatePerNano;
+    private final double minRatePerNano;
+
+    private double tokens;
+    private double ratePerNano;
+    private long refilledAtNanos;
+
+    /**
+     * @param capacity burst size, and the tokens available at start
+     * @param permits refilled per {@code period} at the full rate
+     * @param minPermits refilled per {@code period} after repeated 429s, at the least
+     */
+    public TokenBucket(int capacity, int writeReserve, int permits, int minPermits, Duration period) {
+        this.capacity = capacity;
+        this.writeReserve = Math.min(writeReserve, capacity - 1);
+        this.maxRatePerNano = (double) permits / period.toNanos();
+        this.minRatePerNano = (double) Math.max(1, minPermits) / period.toNanos();
+        this.tokens = capacity;
+        this.ratePerNano = maxRatePerNano;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /**
+     * @return how long the caller must wait before making its call, or empty when the call is shed
+     */
+    public synchronized Optional<Duration> reserve(Priority priority, Duration maxWait) {
+        refill();
+        if (priority == Priority.READ) {
+            if (tokens - 1 < writeReserve) {
+                return Optional.empty();
+            }
+            tokens -= 1;
+            return Optional.of(Duration.ZERO);
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return Optional.of(Duration.ZERO);
+        }
+        final var wait = Duration.ofNanos((long) Math.ceil((1 - tokens) / ratePerNano));
+        if (wait.compareTo(maxWait) > 0) {
+            return Optional.empty();
+        }
+        tokens -= 1;
+        return Optional.of(wait);
+    }
+
+    /**
+     * @return how long until a call with {@code priority} would be admitted without waiting
+     */
+    public synchronized Duration timeUntilAvailable(Priority priority) {
+        refill();
+        final double needed = (priority == Priority.READ ? writeReserve + 1 : 1) - tokens;
+        return needed <= 0 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil(needed / ratePerNano));
+    }
+
+    public synchronized void onRateLimited() {
+        refill();
+        ratePerNano = Math.max(minRatePerNano, ratePerNano * DECREASE_FACTOR);
+    }
+
+    public synchronized void onAccepted() {
+        refill();
+        ratePerNano = Math.min(maxRatePerNano, ratePerNano + maxRatePerNano * INCREASE_FRACTION);
+    }
+
+    /**
+     * @return current refill rate, per second
+     */
+    public synchronized double getRate() {
+        return ratePerNano * 1_000_000_000L;
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * ratePerNano);
+        refilledAtNanos = now;
+    }
+}
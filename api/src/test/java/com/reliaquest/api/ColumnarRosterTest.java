@@ -0,0 +1,56 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.store.ColumnarRoster;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarRosterTest {
+
+    private final MockEmployee john =
+            new MockEmployee(UUID.randomUUID(), "John Grame", 800000, 27, "Senior developer", "johngrame@gmail.com");
+    private final MockEmployee steve =
+            new MockEmployee(UUID.randomUUID(), "Steve Smith", 700000, 26, "Junior developer", "stevesmith@gmail.com");
+    private final MockEmployee adams =
+            new MockEmployee(UUID.randomUUID(), "John Adams", 650000, null, "Senior developer", "johnadamas@gmail.com");
+    private final MockEmployee tied =
+            new MockEmployee(UUID.randomUUID(), "Tied Smith", 700000, 40, null, null);
+
+    private final ColumnarRoster roster = ColumnarRoster.of(List.of(john, steve, adams, tied));
+
+    @Test
+    void test_Rows_RoundTrip() {
+        assertEquals(
+                List.of(john, steve, adams, tied),
+                List.of(roster.row(0), roster.row(1), roster.row(2), roster.row(3)));
+        assertEquals(2, roster.titleCount());
+    }
+
+    @Test
+    void test_SalaryStats_ByTitle() {
+        assertEquals(new ColumnarRoster.SalaryStats(2, 650000, 800000, 725000), roster.salaryStats("Senior developer"));
+        assertEquals(new ColumnarRoster.SalaryStats(4, 650000, 800000, 712500), roster.salaryStats());
+        assertEquals(new ColumnarRoster.SalaryStats(0, 0, 0, 0), roster.salaryStats("Unknown"));
+    }
+
+    @Test
+    void test_FilterByAge_SkipsMissingAges() {
+        assertEquals(List.of(john, steve), roster.filterByAge(16, 30));
+        assertEquals(List.of(), roster.filterByAge(0, 0));
+    }
+
+    @Test
+    void test_SalaryStats_SkipMissingSalaries() {
+        MockEmployee unpaid =
+                new MockEmployee(UUID.randomUUID(), "Unpaid Intern", null, 19, "Senior developer", null);
+        ColumnarRoster withUnpaid = ColumnarRoster.of(List.of(john, steve, adams, tied, unpaid));
+
+        assertEquals(new ColumnarRoster.SalaryStats(4, 650000, 800000, 712500), withUnpaid.salaryStats());
+        assertEquals(
+                new ColumnarRoster.SalaryStats(2, 650000, 800000, 725000), withUnpaid.salaryStats("Senior developer"));
+        assertEquals(unpaid, withUnpaid.row(4));
+    }
+}
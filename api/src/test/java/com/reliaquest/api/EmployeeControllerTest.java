@@ -3,6 +3,9 @@ package com.reliaquest.api;
 
 import com.reliaquest.api.controller.impl.EmployeeController;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.ColumnarRoster;
+import com.reliaquest.server.controller.MockEmployeeController;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +20,21 @@ import static org.mockito.ArgumentMatchers.*;
 
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -95,6 +108,112 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0]",is("Willy march")));
     }
 
+    @Test
+    public void test_getTopEarners_Success() throws Exception {
+        when(employeeService.getTopEarnersAsync(2))
+                .thenReturn(CompletableFuture.completedFuture(List.of(mockEmployee1, mockEmployee2)));
+
+        performAsync(get("/topEarners").param("count", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].employee_name", is("John Grame")));
+    }
+
+    @Test
+    public void test_getTopEarners_UpstreamFailure() throws Exception {
+        when(employeeService.getTopEarnersAsync(2))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Upstream unavailable")));
+
+        performAsync(get("/topEarners").param("count", "2"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void test_getSalaryStats_Success() throws Exception {
+        when(employeeService.getSalaryStatsAsync("Engineer"))
+                .thenReturn(CompletableFuture.completedFuture(new ColumnarRoster.SalaryStats(2, 600000, 800000, 700000)));
+
+        performAsync(get("/salaryStats").param("title", "Engineer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(2)))
+                .andExpect(jsonPath("$.max", is(800000)));
+    }
+
+    @Test
+    public void test_getAllEmployees_StaleSnapshot_ReportsAge() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(mockEmployeesList);
+        when(employeeService.getSnapshotAge()).thenReturn(Optional.of(Duration.ofSeconds(400)));
+        when(employeeService.isSnapshotStale()).thenReturn(true);
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Age", "400"))
+                .andExpect(header().string("X-Snapshot-Stale", "true"))
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    public void test_createEmployees_ReturnsPerItemResults() throws Exception {
+        when(employeeService.createEmployees(anyList())).thenReturn(List.of(
+                BatchItemResult.created(0, mockEmployee1),
+                BatchItemResult.invalid(1, "salary must be greater than 0")));
+
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                    {"name": "John Grame", "salary": 800000, "age": 27, "title": "Senior developer"},
+                                    {"name": "Broke", "salary": -1, "age": 30, "title": "Intern"}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].data.employee_name", is("John Grame")))
+                .andExpect(jsonPath("$[1].status", is("INVALID")));
+    }
+
+    @Test
+    public void test_deleteEmployees_OversizeBatchIsBadRequest() throws Exception {
+        String ids = Stream.generate(() -> "\"" + UUID.randomUUID() + "\"")
+                .limit(MockEmployeeController.MAX_BATCH_SIZE + 1)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(delete("/batch").contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isBadRequest());
+        verify(employeeService, never()).deleteEmployeesById(anyList());
+    }
+
+    @Test
+    public void test_getEmployeesByAge_Success() throws Exception {
+        when(employeeService.getEmployeesByAgeAsync(26, 27))
+                .thenReturn(CompletableFuture.completedFuture(List.of(mockEmployee1, mockEmployee2)));
+
+        performAsync(get("/byAge").param("min", "26").param("max", "27"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].employee_name", is("Steve Smith")));
+    }
+
+    @Test
+    public void test_getEmployeesByAge_InvertedRange() throws Exception {
+        performAsync(get("/byAge").param("min", "40").param("max", "30"))
+                .andExpect(status().isBadRequest());
+        verify(employeeService, never()).getEmployeesByAgeAsync(anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_getSalaryPercentile_InvalidPercentile() throws Exception {
+        performAsync(get("/salaryPercentile").param("percentile", "120"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void test_getSalaryPercentile_NaNPercentile() throws Exception {
+        performAsync(get("/salaryPercentile").param("percentile", "NaN"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void test_createEmployee_Success() throws Exception {
         CreateMockEmployeeInput mockEmployeeInput = new CreateMockEmployeeInput();
@@ -129,5 +248,15 @@ public class EmployeeControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("John Grame"));
     }
+
+    /*
+     * Routes answering with a future are dispatched a second time once it completes.
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
 }
 
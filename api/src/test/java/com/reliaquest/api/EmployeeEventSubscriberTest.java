@@ -0,0 +1,166 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.ServerSentEvents;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.service.EmployeeEventSubscriber;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.api.web.ResilienceProperties;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.RosterVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Drives the subscriber with hand-fed event streams; the upstream client and the snapshot are mocked.
+ */
+public class EmployeeEventSubscriberTest {
+
+    private static final RosterVersion SNAPSHOT_VERSION = new RosterVersion("k3x9", 5);
+
+    private final MockEmployeeClient mockEmployeeClient = mock(MockEmployeeClient.class);
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+
+    /*
+     * One per connect, in order.
+     */
+    private final List<ServerSentEvents> streams = new CopyOnWriteArrayList<>();
+
+    private RateLimitingHandler rateLimitingHandler;
+
+    private EmployeeEventSubscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getSnapshot().setReconnectDelay(Duration.ofMillis(10));
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.getDefaults().setMaxAttempts(1);
+        resilience.getRateLimiter().setEnabled(false);
+        rateLimitingHandler = new RateLimitingHandler(resilience, new SimpleMeterRegistry());
+
+        when(employeeService.getSnapshotVersion()).thenReturn(Optional.of(SNAPSHOT_VERSION));
+        when(mockEmployeeClient.subscribeEvents(any(), any())).thenAnswer(invocation -> {
+            streams.add(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(null);
+        });
+        subscriber = new EmployeeEventSubscriber(
+                cacheProperties,
+                mockEmployeeClient,
+                rateLimitingHandler,
+                employeeService,
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriber.stop();
+    }
+
+    @Test
+    void test_ChangeInStep_IsApplied() {
+        when(employeeService.applyUpstreamChanges(any())).thenReturn(true);
+        subscriber.start();
+
+        feed(streams.get(0), "id: k3x9.6", "event: change", "data: " + deleted(6), "");
+
+        ArgumentCaptor<EmployeeChanges> applied = ArgumentCaptor.forClass(EmployeeChanges.class);
+        verify(employeeService).applyUpstreamChanges(applied.capture());
+        assertEquals(6, applied.getValue().version());
+        assertTrue(subscriber.isConnected());
+        verify(employeeService, after(100).never()).syncSnapshot();
+        assertEquals(1, streams.size());
+    }
+
+    @Test
+    void test_ChangeAfterGap_ResyncsAndReconnects() {
+        when(employeeService.applyUpstreamChanges(any())).thenReturn(false);
+        subscriber.start();
+
+        feed(streams.get(0), "id: k3x9.8", "event: change", "data: " + deleted(8), "");
+
+        verify(employeeService, timeout(2_000)).syncSnapshot();
+        verify(mockEmployeeClient, timeout(2_000).times(2)).subscribeEvents(eq(SNAPSHOT_VERSION), any());
+        assertTrue(streams.get(0).closed().isDone());
+    }
+
+    @Test
+    void test_ResyncEvent_ResyncsAndReconnects() {
+        subscriber.start();
+
+        feed(streams.get(0), "event: resync", "data: k3x9.40", "");
+
+        verify(employeeService, timeout(2_000)).syncSnapshot();
+        verify(mockEmployeeClient, timeout(2_000).times(2)).subscribeEvents(eq(SNAPSHOT_VERSION), any());
+    }
+
+    @Test
+    void test_DroppedStream_ReconnectsFromSnapshotVersion() {
+        subscriber.start();
+
+        streams.get(0).onComplete();
+
+        verify(mockEmployeeClient, timeout(2_000).times(2)).subscribeEvents(eq(SNAPSHOT_VERSION), any());
+        verify(employeeService, never()).syncSnapshot();
+        assertFalse(subscriber.isConnected());
+    }
+
+    @Test
+    void test_RateLimitedConnect_WaitsOutRetryAfter() {
+        doReturn(CompletableFuture.failedFuture(tooManyRequests("1")))
+                .doReturn(CompletableFuture.completedFuture(null))
+                .when(mockEmployeeClient)
+                .subscribeEvents(any(), any());
+
+        subscriber.start();
+
+        // the reconnect delay alone would have allowed dozens of attempts by now
+        verify(mockEmployeeClient, after(500).times(1)).subscribeEvents(any(), any());
+        assertTrue(rateLimitingHandler.getRetryAfter("subscribeEvents").isPositive());
+        verify(mockEmployeeClient, timeout(3_000).times(2)).subscribeEvents(any(), any());
+    }
+
+    private static void feed(ServerSentEvents stream, String... lines) {
+        for (String line : lines) {
+            stream.onNext(line);
+        }
+    }
+
+    private static String deleted(long version) {
+        return "{\"version\":%d,\"type\":\"DELETED\",\"id\":\"%s\"}".formatted(version, UUID.randomUUID());
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
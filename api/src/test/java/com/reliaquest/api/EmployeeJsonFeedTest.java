@@ -0,0 +1,78 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeJsonFeed;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeJsonFeedTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<MockEmployee> employees = List.of(
+            new MockEmployee(UUID.randomUUID(), "John Grame", 800000, 27, "Senior developer", "johngrame@gmail.com"),
+            new MockEmployee(UUID.randomUUID(), "Steve \u00c5smith", 700000, 26, null, "stevesmith@gmail.com"),
+            new MockEmployee(UUID.randomUUID(), "John Adams", null, 28, "Mid developer", "johnadamas@gmail.com"));
+
+    @Test
+    void test_Ndjson_DecodedAtEveryChunkBoundary() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (MockEmployee employee : employees) {
+            ndjson.append(objectMapper.writeValueAsString(employee)).append('\n');
+        }
+
+        assertDecodedInChunks(ndjson.toString().getBytes(StandardCharsets.UTF_8), EmployeeJsonFeed.Layout.NDJSON);
+    }
+
+    @Test
+    void test_Envelope_DecodedAtEveryChunkBoundary() throws Exception {
+        byte[] envelope = objectMapper.writeValueAsBytes(Response.handledWith(employees));
+
+        assertDecodedInChunks(envelope, EmployeeJsonFeed.Layout.ENVELOPE);
+    }
+
+    @Test
+    void test_TruncatedStream_Fails() throws Exception {
+        byte[] ndjson = objectMapper.writeValueAsBytes(employees.get(0));
+        EmployeeJsonFeed feed = EmployeeJsonFeed.nonBlocking(
+                objectMapper.getFactory(), EmployeeJsonFeed.Layout.NDJSON, employee -> {});
+
+        feed.onNext(List.of(ByteBuffer.wrap(ndjson, 0, ndjson.length / 2)));
+        feed.onComplete();
+
+        assertThrows(RuntimeException.class, feed::getCount);
+    }
+
+    @Test
+    void test_EnvelopeWithoutData_Fails() throws Exception {
+        byte[] envelope = objectMapper.writeValueAsBytes(Response.error("boom"));
+
+        EmployeeJsonFeed feed = EmployeeJsonFeed.blocking(
+                objectMapper.getFactory().createParser(envelope), EmployeeJsonFeed.Layout.ENVELOPE, employee -> {});
+
+        assertThrows(IllegalStateException.class, feed::readFully);
+    }
+
+    private void assertDecodedInChunks(byte[] body, EmployeeJsonFeed.Layout layout) {
+        for (int chunk = 1; chunk <= body.length; chunk++) {
+            List<MockEmployee> decoded = new ArrayList<>();
+            EmployeeJsonFeed feed = EmployeeJsonFeed.nonBlocking(objectMapper.getFactory(), layout, decoded::add);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                feed.onNext(List.of(ByteBuffer.wrap(body, offset, Math.min(chunk, body.length - offset))));
+            }
+            feed.onComplete();
+
+            assertEquals(employees.size(), feed.getCount(), "chunk size " + chunk);
+            assertEquals(employees, decoded, "chunk size " + chunk);
+        }
+    }
+}
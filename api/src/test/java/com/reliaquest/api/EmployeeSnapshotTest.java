@@ -0,0 +1,118 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.store.EmployeeSnapshot;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeSnapshotTest {
+
+    private static final RosterVersion EPOCH = new RosterVersion("boot", 0);
+
+    private final MockEmployee john = employee("John Grame", 800000);
+    private final MockEmployee steve = employee("Steve Smith", 700000);
+    private final MockEmployee adams = employee("John Adams", 650000);
+
+    private EmployeeSnapshot snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        snapshot = new EmployeeSnapshot();
+        snapshot.replaceAll(List.of(john, steve, adams));
+    }
+
+    @Test
+    void test_WritesBeforeLoad_AreIgnored() {
+        EmployeeSnapshot empty = new EmployeeSnapshot();
+        empty.put(john);
+
+        assertFalse(empty.isLoaded());
+        assertTrue(empty.all().isEmpty());
+    }
+
+    @Test
+    void test_Put_UpdatesDerivedViews() {
+        MockEmployee richest = employee("Daisy Donor", 900000);
+        snapshot.put(richest);
+
+        assertEquals(List.of(john, steve, adams, richest), snapshot.all());
+        assertEquals(900000, snapshot.highestSalary());
+        assertEquals(List.of(richest, john), snapshot.topEarners(2));
+        assertEquals(List.of(richest), snapshot.searchByName("dAIsY"));
+    }
+
+    @Test
+    void test_Remove_UpdatesDerivedViews() {
+        assertEquals(john, snapshot.remove(john.getId()).orElseThrow());
+
+        assertEquals(List.of(steve, adams), snapshot.all());
+        assertEquals(700000, snapshot.highestSalary());
+        assertEquals(List.of(adams), snapshot.searchByName("john"));
+        assertTrue(snapshot.findById(john.getId()).isEmpty());
+    }
+
+    @Test
+    void test_BatchWrites_UpdateDerivedViews() {
+        MockEmployee richest = employee("Daisy Donor", 900000);
+        snapshot.putAll(List.of(richest, employee("Jon Snow", 10)));
+
+        assertEquals(2, snapshot.removeAll(List.of(john.getId(), steve.getId(), UUID.randomUUID())));
+        assertEquals(900000, snapshot.highestSalary());
+        assertEquals(List.of("John Adams", "Jon Snow"), snapshot.searchByName("jo").stream()
+                .map(MockEmployee::getName)
+                .toList());
+        assertEquals(3, snapshot.size());
+    }
+
+    @Test
+    void test_ApplyChanges_CatchesUpFromVersion() {
+        snapshot.replaceAll(EmployeeSnapshot.loader().add(john).add(steve).atVersion(EPOCH.at(7)));
+        MockEmployee richest = employee("Daisy Donor", 900000);
+        EmployeeChanges changes = new EmployeeChanges(
+                List.of(
+                        EmployeeChange.created(7, steve),
+                        EmployeeChange.created(8, richest),
+                        EmployeeChange.deleted(9, john.getId())),
+                9,
+                false);
+
+        assertTrue(snapshot.applyChanges(changes));
+        assertEquals(Optional.of(EPOCH.at(9)), snapshot.version());
+        assertEquals(List.of(steve, richest), snapshot.all());
+        assertEquals(900000, snapshot.highestSalary());
+    }
+
+    @Test
+    void test_ApplyChanges_RejectsGapsAndUnversionedSnapshots() {
+        EmployeeChanges skipsVersion8 = new EmployeeChanges(List.of(EmployeeChange.deleted(9, john.getId())), 9, false);
+
+        assertFalse(snapshot.applyChanges(skipsVersion8));
+
+        snapshot.replaceAll(EmployeeSnapshot.loader().add(john).atVersion(EPOCH.at(7)));
+        assertFalse(snapshot.applyChanges(skipsVersion8));
+        assertEquals(List.of(john), snapshot.all());
+        assertEquals(Optional.of(EPOCH.at(7)), snapshot.version());
+    }
+
+    @Test
+    void test_TopEarners_TiesKeepUpstreamOrder() {
+        MockEmployee tied = employee("Willy March", 700000);
+        snapshot.put(tied);
+
+        assertEquals(List.of(john, steve, tied, adams), snapshot.topEarners(10));
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Engineer", "someone@company.com");
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.UpstreamClientConfiguration;
+import com.reliaquest.api.client.UpstreamClientProperties;
+import com.reliaquest.server.model.Capability;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Runs the client against a stub upstream that, like the stock mock server, offers neither its capabilities nor the
+ * employee stream, or offers them together with the change log.
+ */
+public class MockEmployeeClientTest {
+
+    private static final String BASE_PATH = "/api/v1/employee";
+
+    private static final String EMPLOYEES = """
+            {"data":[{"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507","employee_name":"Tiger Nixon",\
+            "employee_salary":320800,"employee_age":61,"employee_title":"Vice Chair",\
+            "employee_email":"tnixon@company.com"}],"status":"Successfully processed request."}""";
+
+    private static final String EMPLOYEE_LINE = """
+            {"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507","employee_name":"Tiger Nixon",\
+            "employee_salary":320800,"employee_age":61,"employee_title":"Vice Chair",\
+            "employee_email":"tnixon@company.com"}
+            """;
+
+    /*
+     * What the stock server's advice answers a path segment that is not a UUID with, here "capabilities".
+     */
+    private static final String NOT_A_UUID = """
+            {"status":"Failed to process request.","error":"Failed to convert value of type 'java.lang.String' \
+            to required type 'java.util.UUID'; Invalid UUID string: capabilities"}""";
+
+    private HttpServer upstream;
+    private MockEmployeeClient client;
+
+    /*
+     * Status and body the stub answers GET /capabilities with; a stock server's by default.
+     */
+    private int capabilitiesStatus = 500;
+    private String capabilities = NOT_A_UUID;
+
+    /*
+     * Status the stub answers GET /stream with; only 200 offers the stream.
+     */
+    private int streamStatus = 500;
+
+    /*
+     * Status the stub answers GET /changes with, and the query it was last asked.
+     */
+    private int changesStatus;
+    private volatile String changesQuery;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext(BASE_PATH, exchange -> {
+            final var path = exchange.getRequestURI().getPath();
+            if (path.equals(BASE_PATH + "/capabilities")) {
+                respond(exchange, capabilitiesStatus, capabilities);
+            } else if (path.equals(BASE_PATH + "/stream") && streamStatus == 200) {
+                exchange.getResponseHeaders().add("ETag", "\"k3x9.5\"");
+                respond(exchange, 200, "application/x-ndjson", EMPLOYEE_LINE);
+            } else if (path.equals(BASE_PATH + "/stream")) {
+                respond(exchange, streamStatus, NOT_A_UUID.replace("capabilities", "stream"));
+            } else if (path.equals(BASE_PATH + "/changes")) {
+                changesQuery = exchange.getRequestURI().getQuery();
+                respond(exchange, changesStatus, "{\"status\":\"Changes are no longer retained.\"}");
+            } else {
+                respond(exchange, 200, EMPLOYEES);
+            }
+        });
+        upstream.start();
+
+        UpstreamClientProperties properties = new UpstreamClientProperties();
+        properties.setHttpVersion(HttpClient.Version.HTTP_1_1);
+        UpstreamClientConfiguration configuration = new UpstreamClientConfiguration();
+        HttpClient httpClient = configuration.upstreamHttpClient(properties, new MockEnvironment());
+        client = new MockEmployeeClient(
+                configuration.upstreamRestTemplate(new RestTemplateBuilder(), httpClient, properties),
+                httpClient,
+                Jackson2ObjectMapperBuilder.json().build(),
+                properties,
+                ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(
+                client, "mockEmployeeServiceUrl", "http://localhost:" + upstream.getAddress().getPort() + BASE_PATH);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void test_CapabilitiesOfStockServer_AreNone() {
+        Set<Capability> offered = client.fetchCapabilitiesAsync().join();
+
+        assertTrue(offered.isEmpty());
+    }
+
+    @Test
+    void test_Capabilities_SkipNamesThisClientDoesNotKnow() {
+        capabilitiesStatus = 200;
+        capabilities = "{\"data\":[\"STREAM\",\"TELEPORT\"],\"status\":\"Successfully processed request.\"}";
+
+        Set<Capability> offered = client.fetchCapabilitiesAsync().join();
+
+        assertEquals(Set.of(Capability.STREAM), offered);
+    }
+
+    @Test
+    void test_CapabilitiesThrottled_AreNotTakenForNone() {
+        capabilitiesStatus = 429;
+        capabilities = "{\"status\":\"Failed to process request.\",\"error\":\"Too many requests\"}";
+
+        CompletionException failure =
+                assertThrows(CompletionException.class, () -> client.fetchCapabilitiesAsync().join());
+
+        assertInstanceOf(HttpClientErrorException.TooManyRequests.class, failure.getCause());
+    }
+
+    @Test
+    void test_FetchAll_ReadsTheListEnvelope() {
+        List<MockEmployee> employees = new ArrayList<>();
+
+        Optional<RosterVersion> version = client.fetchAllAsync(employees::add).join();
+
+        assertEquals(1, employees.size());
+        assertEquals("Tiger Nixon", employees.get(0).getName());
+        assertEquals(Optional.empty(), version);
+    }
+
+    @Test
+    void test_StreamNotOffered_Fails() {
+        CompletionException failure = assertThrows(
+                CompletionException.class,
+                () -> client.streamAllAsync(employee -> {}).join());
+
+        assertInstanceOf(HttpServerErrorException.class, failure.getCause());
+    }
+
+    @Test
+    void test_StreamETag_CarriesTheUpstreamEpoch() {
+        streamStatus = 200;
+        List<MockEmployee> employees = new ArrayList<>();
+
+        Optional<RosterVersion> version = client.streamAllAsync(employees::add).join();
+
+        assertEquals(1, employees.size());
+        assertEquals(Optional.of(new RosterVersion("k3x9", 5)), version);
+    }
+
+    @Test
+    void test_ChangesAnsweredWithGone_AreEmpty() {
+        changesStatus = 410;
+
+        Optional<?> changes = client.fetchChangesSinceAsync(new RosterVersion("k3x9", 5)).join();
+
+        assertTrue(changes.isEmpty());
+        assertEquals("since=k3x9.5", changesQuery);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        respond(exchange, status, "application/json", json);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String content)
+            throws IOException {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.store.NameNgramIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class NameNgramIndexTest {
+
+    private static final String ALPHABET = "abcAB C\u00e9";
+
+    @Test
+    void test_Search_MatchesStringContains() {
+        Random random = new Random(42);
+        List<String> names = IntStream.range(0, 500)
+                .mapToObj(ignored -> randomString(random, 1 + random.nextInt(12)))
+                .toList();
+        NameNgramIndex<String> index = new NameNgramIndex<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.add(i, names.get(i), names.get(i));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            String fragment = randomString(random, 1 + random.nextInt(6));
+            assertEquals(bruteForce(names, fragment), index.search(fragment), "fragment '" + fragment + "'");
+        }
+    }
+
+    @Test
+    void test_Remove_DropsNameFromResults() {
+        NameNgramIndex<String> index = new NameNgramIndex<>();
+        index.add(1, "John Grame", "John Grame");
+        index.add(2, "John Adams", "John Adams");
+
+        index.remove(1);
+
+        assertEquals(List.of("John Adams"), index.search("JOHN"));
+        assertEquals(List.of(), index.search("grame"));
+        assertEquals(List.of(), index.search("gr"));
+    }
+
+    private static List<String> bruteForce(List<String> names, String fragment) {
+        List<String> matches = new ArrayList<>();
+        for (String name : names) {
+            if (name.toLowerCase().contains(fragment.toLowerCase())) {
+                matches.add(name);
+            }
+        }
+        return matches;
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.api.web.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.server.ResponseStatusException;
+
+public class RateLimitingHandlerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitingHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getDefaults().setMaxAttempts(3);
+        properties.getDefaults().setInitialBackoff(Duration.ofMillis(1));
+        properties.getDefaults().setMaxBackoff(Duration.ofMillis(5));
+        properties.getCircuitBreaker().setFailureThreshold(3);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        properties.getRateLimiter().setEnabled(false);
+        handler = new RateLimitingHandler(properties, meterRegistry);
+    }
+
+    @Test
+    void test_RateLimited_RetriesUntilSuccess() {
+        String result = handler.execute("getAllEmployees", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw tooManyRequests(null);
+            }
+            return "employees";
+        });
+
+        assertEquals("employees", result);
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, handler.getCircuitState());
+    }
+
+    @Test
+    void test_RateLimitedAsync_RetriesUntilSuccess() {
+        String result = handler.executeAsync("getAllEmployees", () -> calls.incrementAndGet() < 2
+                        ? CompletableFuture.<String>failedFuture(tooManyRequests("0"))
+                        : CompletableFuture.completedFuture("employees"))
+                .join();
+
+        assertEquals("employees", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_PersistentRateLimit_OpensCircuitAndFailsFast() {
+        assertThrows(ResponseStatusException.class, () -> handler.execute("getAllEmployees", () -> {
+            calls.incrementAndGet();
+            throw tooManyRequests(null);
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState());
+
+        ResponseStatusException failFast = assertThrows(
+                ResponseStatusException.class, () -> handler.execute("getAllEmployees", calls::incrementAndGet));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, failFast.getStatusCode());
+        assertEquals(3, calls.get());
+        assertEquals(1.0, rejections("upstream"));
+        assertEquals(1.0, rejections("circuit_open"));
+        assertEquals(3, meterRegistry
+                .get("employee.upstream.requests")
+                .tag("outcome", "rate_limited")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void test_LongRetryAfter_IsNotWaitedOut() {
+        CompletionException failure = assertThrows(
+                CompletionException.class,
+                () -> handler.executeAsync("getAllEmployees", () -> {
+                            calls.incrementAndGet();
+                            return CompletableFuture.<String>failedFuture(tooManyRequests("60"));
+                        })
+                        .join());
+
+        assertEquals(1, calls.get());
+        assertEquals(ResponseStatusException.class, failure.getCause().getClass());
+    }
+
+    @Test
+    void test_ClientError_IsNotRetried() {
+        assertThrows(RuntimeException.class, () -> handler.execute("getEmployeeById", () -> {
+            calls.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null);
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void test_TimedOutWrite_IsNotReplayed() {
+        assertThrows(ResourceAccessException.class, () -> handler.execute("createEmployee", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("I/O error on POST request: Read timed out");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void test_TimedOutRead_IsRetried() {
+        String result = handler.execute("getAllEmployees", () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new ResourceAccessException("I/O error on GET request: Read timed out");
+            }
+            return "employees";
+        });
+
+        assertEquals("employees", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_RateLimitedWrite_IsRetried() {
+        String result = handler.execute("deleteEmployee", () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw tooManyRequests("0");
+            }
+            return "deleted";
+        });
+
+        assertEquals("deleted", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_SpentQuota_ShedsReadsButAdmitsWrites() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getRateLimiter().setCapacity(2);
+        properties.getRateLimiter().setWriteReserve(1);
+        handler = new RateLimitingHandler(properties, meterRegistry);
+
+        handler.execute("getAllEmployees", calls::incrementAndGet);
+        ResponseStatusException shed = assertThrows(
+                ResponseStatusException.class, () -> handler.execute("getAllEmployees", calls::incrementAndGet));
+        handler.execute("createEmployee", calls::incrementAndGet);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, shed.getStatusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_ShedProbe_LeavesCircuitRecoverable() throws InterruptedException {
+        handler = new RateLimitingHandler(probeProperties(2, Duration.ofSeconds(2)), meterRegistry);
+        openCircuit("getAllEmployees");
+
+        // the probe is let through, but the read is shed because only the write reserve is left
+        assertThrows(
+                ResponseStatusException.class, () -> handler.execute("getAllEmployees", calls::incrementAndGet));
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState());
+
+        handler.execute("createEmployee", calls::incrementAndGet);
+        assertEquals(CircuitBreaker.State.CLOSED, handler.getCircuitState());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_InterruptedProbe_LeavesCircuitRecoverable() throws InterruptedException {
+        handler = new RateLimitingHandler(probeProperties(1, Duration.ofHours(1)), meterRegistry);
+        openCircuit("createEmployee");
+
+        // the probe is let through, then interrupted while it waits for the next token
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(
+                    ResponseStatusException.class, () -> handler.execute("createEmployee", calls::incrementAndGet));
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState());
+        assertEquals(1, calls.get());
+    }
+
+    /*
+     * One attempt per call, a circuit that opens on the first 429 for a moment, and a bucket that starts with
+     * {@code capacity} tokens and barely refills.
+     */
+    private static ResilienceProperties probeProperties(int capacity, Duration maxWriteWait) {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getDefaults().setMaxAttempts(1);
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(50));
+        properties.getRateLimiter().setCapacity(capacity);
+        properties.getRateLimiter().setWriteReserve(1);
+        properties.getRateLimiter().setMaxWriteWait(maxWriteWait);
+        return properties;
+    }
+
+    /*
+     * Spends one token on a throttled call, then waits until the circuit is due for a probe.
+     */
+    private void openCircuit(String callSite) throws InterruptedException {
+        assertThrows(ResponseStatusException.class, () -> handler.execute(callSite, () -> {
+            calls.incrementAndGet();
+            throw tooManyRequests(null);
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, handler.getCircuitState());
+        Thread.sleep(100);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry
+                .get("employee.rate.limit.rejections")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.store.SalaryIndex;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+public class SalaryIndexTest {
+
+    @Test
+    void test_RandomOperations_MatchSortedReference() {
+        Random random = new Random(7);
+        SalaryIndex<Long> index = new SalaryIndex<>();
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                index.remove(key);
+                reference.remove(key);
+            } else {
+                int salary = random.nextInt(200);
+                index.add(key, salary, key);
+                reference.put(key, salary);
+            }
+
+            List<Long> expected = new ArrayList<>(reference.keySet());
+            expected.sort((a, b) -> reference.get(a).equals(reference.get(b))
+                    ? Long.compare(a, b)
+                    : Integer.compare(reference.get(b), reference.get(a)));
+            assertEquals(expected.subList(0, Math.min(10, expected.size())), index.topK(10));
+            assertEquals(reference.size(), index.size());
+            if (!expected.isEmpty()) {
+                assertEquals(reference.get(expected.get(0)), index.max().getAsInt());
+            }
+        }
+    }
+
+    @Test
+    void test_Percentile_UsesNearestRank() {
+        SalaryIndex<String> index = new SalaryIndex<>();
+        List<Integer> salaries = new ArrayList<>(List.of(15, 20, 35, 40, 50));
+        Collections.shuffle(salaries, new Random(3));
+        for (int i = 0; i < salaries.size(); i++) {
+            index.add(i, salaries.get(i), "employee" + i);
+        }
+
+        assertEquals(15, index.percentile(0).getAsInt());
+        assertEquals(20, index.percentile(30).getAsInt());
+        assertEquals(35, index.percentile(50).getAsInt());
+        assertEquals(50, index.percentile(100).getAsInt());
+        assertThrows(IllegalArgumentException.class, () -> index.percentile(101));
+        assertTrue(new SalaryIndex<String>().percentile(50).isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.client.ServerSentEvents;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+
+public class ServerSentEventsTest {
+
+    private final List<ServerSentEvents.Event> received = new ArrayList<>();
+
+    private final ServerSentEvents events = new ServerSentEvents(received::add);
+
+    @Test
+    void test_Events_AssembledFromFields() {
+        feed(": connected", "id: 7", "event: change", "data: {\"version\":7}", "", "event:heartbeat", "data:7", "");
+
+        assertEquals(
+                List.of(
+                        new ServerSentEvents.Event("7", "change", "{\"version\":7}"),
+                        new ServerSentEvents.Event(null, "heartbeat", "7")),
+                received);
+    }
+
+    @Test
+    void test_MultiLineData_JoinedAndUnnamedEventIsMessage() {
+        feed("data: first", "data: second", "");
+
+        assertEquals(List.of(new ServerSentEvents.Event(null, "message", "first\nsecond")), received);
+    }
+
+    @Test
+    void test_EventsWithoutDataOrBlankLine_AreDropped() {
+        feed("id: 3", "event: change", "", "data: unterminated");
+        events.onComplete();
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void test_Cancel_StopsDelivery() {
+        List<Boolean> cancelled = new ArrayList<>();
+        events.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {
+                cancelled.add(true);
+            }
+        });
+
+        events.cancel();
+        events.onNext("data: late");
+        events.onNext("");
+
+        assertEquals(List.of(true), cancelled);
+        assertTrue(received.isEmpty());
+        assertTrue(events.closed().isDone());
+    }
+
+    @Test
+    void test_Closed_CompletesWithTheStream() {
+        ServerSentEvents failed = new ServerSentEvents(received::add);
+
+        assertFalse(events.closed().isDone());
+        events.onComplete();
+        failed.onError(new IOException("connection reset"));
+
+        assertTrue(events.closed().isDone());
+        assertFalse(events.closed().isCompletedExceptionally());
+        assertTrue(failed.closed().isCompletedExceptionally());
+    }
+
+    private void feed(String... lines) {
+        for (String line : lines) {
+            events.onNext(line);
+        }
+    }
+}
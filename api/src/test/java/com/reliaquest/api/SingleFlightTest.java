@@ -0,0 +1,69 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.client.SingleFlight;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void test_ConcurrentCalls_ShareOneUpstreamCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            callers.add(singleFlight.execute("allEmployees", () -> {
+                calls.incrementAndGet();
+                return upstream;
+            }));
+        }
+
+        upstream.complete("employees");
+
+        assertEquals(1, calls.get());
+        callers.forEach(caller -> assertEquals("employees", caller.join()));
+
+        // the completed call released its key, so the next caller starts a new one
+        singleFlight.execute("allEmployees", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("employees");
+        });
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void test_CompletedCall_IsNotReused() {
+        singleFlight.execute("allEmployees", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("upstream down"));
+        });
+        CompletableFuture<String> next = singleFlight.execute("allEmployees", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("employees");
+        });
+
+        assertEquals(2, calls.get());
+        assertEquals("employees", next.join());
+    }
+
+    @Test
+    void test_Failure_ReachesEveryCaller() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("allEmployees", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("allEmployees", () -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("upstream down"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+    }
+}
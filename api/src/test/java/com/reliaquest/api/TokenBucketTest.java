@@ -0,0 +1,57 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.web.TokenBucket;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    private static final Duration PERIOD = Duration.ofSeconds(90);
+
+    @Test
+    void test_Reads_StopAtWriteReserve() {
+        TokenBucket bucket = new TokenBucket(4, 1, 4, 1, PERIOD);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(Duration.ZERO), bucket.reserve(TokenBucket.Priority.READ, Duration.ZERO));
+        }
+        assertEquals(Optional.empty(), bucket.reserve(TokenBucket.Priority.READ, Duration.ZERO));
+        assertEquals(Optional.of(Duration.ZERO), bucket.reserve(TokenBucket.Priority.WRITE, Duration.ZERO));
+    }
+
+    @Test
+    void test_Writes_QueueForNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 0, 4, 1, PERIOD);
+        bucket.reserve(TokenBucket.Priority.WRITE, Duration.ZERO);
+
+        assertEquals(Optional.empty(), bucket.reserve(TokenBucket.Priority.WRITE, Duration.ofSeconds(1)));
+        Optional<Duration> wait = bucket.reserve(TokenBucket.Priority.WRITE, PERIOD);
+
+        assertTrue(wait.isPresent());
+        assertTrue(wait.get().compareTo(Duration.ofSeconds(20)) > 0, "waited " + wait.get());
+        assertTrue(wait.get().compareTo(Duration.ofSeconds(23)) <= 0, "waited " + wait.get());
+        assertEquals(Optional.empty(), bucket.reserve(TokenBucket.Priority.READ, Duration.ZERO));
+    }
+
+    @Test
+    void test_RateLimited_HalvesRateDownToFloorAndRecovers() {
+        TokenBucket bucket = new TokenBucket(4, 1, 4, 1, PERIOD);
+        double fullRate = bucket.getRate();
+
+        bucket.onRateLimited();
+        assertEquals(fullRate / 2, bucket.getRate(), 1e-12);
+        for (int i = 0; i < 10; i++) {
+            bucket.onRateLimited();
+        }
+        assertEquals(fullRate / 4, bucket.getRate(), 1e-12);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.onAccepted();
+        }
+        assertEquals(fullRate, bucket.getRate(), 1e-12);
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.UpstreamClientProperties;
+import com.reliaquest.api.service.UpstreamCapabilities;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.api.web.ResilienceProperties;
+import com.reliaquest.server.model.Capability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+public class UpstreamCapabilitiesTest {
+
+    private final MockEmployeeClient mockEmployeeClient = mock(MockEmployeeClient.class);
+
+    private final UpstreamClientProperties properties = new UpstreamClientProperties();
+
+    private UpstreamCapabilities capabilities;
+
+    @BeforeEach
+    public void setUp() {
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.getDefaults().setMaxAttempts(1);
+        resilience.getRateLimiter().setEnabled(false);
+        capabilities = new UpstreamCapabilities(
+                properties, mockEmployeeClient, new RateLimitingHandler(resilience, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void test_Supports_ProbesOnceUntilTheRefreshIsDue() {
+        when(mockEmployeeClient.fetchCapabilitiesAsync())
+                .thenReturn(CompletableFuture.completedFuture(Set.of(Capability.STREAM)));
+
+        assertTrue(capabilities.supports(Capability.STREAM).join());
+        assertFalse(capabilities.supports(Capability.DELETE_BY_ID).join());
+
+        verify(mockEmployeeClient, times(1)).fetchCapabilitiesAsync();
+    }
+
+    @Test
+    void test_Supports_ProbesAgainOnceTheRefreshIsDue() {
+        properties.setCapabilityRefresh(Duration.ZERO);
+        when(mockEmployeeClient.fetchCapabilitiesAsync())
+                .thenReturn(CompletableFuture.completedFuture(Set.of()))
+                .thenReturn(CompletableFuture.completedFuture(Set.of(Capability.STREAM)));
+
+        assertFalse(capabilities.supports(Capability.STREAM).join());
+        assertTrue(capabilities.supports(Capability.STREAM).join());
+    }
+
+    @Test
+    void test_FailedProbe_CountsAsNone() {
+        when(mockEmployeeClient.fetchCapabilitiesAsync())
+                .thenReturn(CompletableFuture.failedFuture(
+                        HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null)));
+
+        assertEquals(Set.of(), capabilities.offered().join());
+    }
+}
@@ -0,0 +1,134 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the API with {@code spring.threads.virtual.enabled} off, then on, and sends each {@value #CONCURRENT_REQUESTS}
+ * concurrent {@code GET /{id}} requests. The upstream takes {@value #UPSTREAM_LATENCY_MILLIS} ms per request and
+ * every id is new, so each request holds its servlet thread until the upstream answers. With virtual threads off,
+ * Tomcat's pool of {@value #PLATFORM_POOL_SIZE} platform threads bounds how many wait at once. Run with
+ * {@code ./gradlew api:loadTest}.
+ */
+@Slf4j
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int UPSTREAM_LATENCY_MILLIS = 200;
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    private static final String BASE_PATH = "/api/v1/employee";
+
+    private static final String EMPLOYEE = """
+            {"data":{"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507","employee_name":"Tiger Nixon",\
+            "employee_salary":320800,"employee_age":61,"employee_title":"Vice Chair",\
+            "employee_email":"tnixon@company.com"},"status":"Successfully processed request."}""";
+
+    private HttpServer upstream;
+
+    /*
+     * Sends the load; on virtual threads, so it is never what limits concurrency.
+     */
+    private final HttpClient caller = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext(BASE_PATH, exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = EMPLOYEE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void test_SlowUpstream_VirtualThreadsServeMoreConcurrentRequests() {
+        Duration platform = measure(false);
+        Duration virtual = measure(true);
+
+        log.info(
+                "{} requests with {} ms upstream latency: {} platform threads took {} ms, virtual threads took {} ms",
+                CONCURRENT_REQUESTS,
+                UPSTREAM_LATENCY_MILLIS,
+                PLATFORM_POOL_SIZE,
+                platform.toMillis(),
+                virtual.toMillis());
+        assertTrue(
+                virtual.multipliedBy(2).compareTo(platform) < 0,
+                "expected virtual threads to finish at least twice as fast, platform=" + platform + " virtual="
+                        + virtual);
+    }
+
+    private Duration measure(boolean virtualThreads) {
+        try (ConfigurableApplicationContext api = new SpringApplicationBuilder(ApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + PLATFORM_POOL_SIZE,
+                        "mockemployee.service.url=http://localhost:" + upstream.getAddress().getPort() + BASE_PATH,
+                        "mockemployee.client.http-version=HTTP_1_1",
+                        "mockemployee.client.max-idle-connections=" + CONCURRENT_REQUESTS,
+                        // every request has to reach the upstream, not wait for or be refused a permit
+                        "mockemployee.resilience.rate-limiter.enabled=false")
+                .run()) {
+            String baseUrl = "http://localhost:" + api.getEnvironment().getProperty("local.server.port");
+            // warm up connections and class loading so the measured run does not pay for them
+            run(baseUrl, 50);
+            return run(baseUrl, CONCURRENT_REQUESTS);
+        }
+    }
+
+    private Duration run(String baseUrl, int requests) {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + UUID.randomUUID()))
+                    .GET()
+                    .build();
+            calls.add(caller.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> call : calls) {
+            assertEquals(200, call.join().statusCode());
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.client.UpstreamClientProperties;
+import com.reliaquest.api.config.CacheProperties;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.UpstreamCapabilities;
+import com.reliaquest.api.web.RateLimitingHandler;
+import com.reliaquest.api.web.ResilienceProperties;
+import com.reliaquest.server.model.Capability;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * The read paths of {@link EmployeeService} once its snapshot is loaded, which is where requests spend their time in
+ * steady state. The service is built without Spring, so {@code @Cacheable} results are not cached and every
+ * invocation does the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int rosterSize;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        final var cacheProperties = new CacheProperties();
+        // keep the snapshot fresh for the whole run, so no benchmark triggers a reload
+        cacheProperties.getSnapshot().setRefreshAfter(Duration.ofDays(1));
+        cacheProperties.getSnapshot().setMaxStaleness(Duration.ofDays(1));
+        final var client = new FixedRosterClient(Rosters.generate(rosterSize));
+        final var rateLimitingHandler = new RateLimitingHandler(new ResilienceProperties(), new SimpleMeterRegistry());
+        employeeService = new EmployeeService(
+                cacheProperties,
+                client,
+                new UpstreamCapabilities(new UpstreamClientProperties(), client, rateLimitingHandler),
+                rateLimitingHandler,
+                new CaffeineCacheManager());
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<MockEmployee> searchByName() {
+        return employeeService.getEmployeesByNameSearch(Rosters.SEARCH_FRAGMENT);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryAmongstEmployees();
+    }
+
+    @Benchmark
+    public List<String> top10HighestEarningNames() {
+        return employeeService.getTop10HighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<MockEmployee> allEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    /*
+     * Serves the generated roster as if streamed from the upstream; nothing goes over the network.
+     */
+    private static final class FixedRosterClient extends MockEmployeeClient {
+
+        private final List<MockEmployee> roster;
+
+        private FixedRosterClient(List<MockEmployee> roster) {
+            super(null, null, null, null, null);
+            this.roster = roster;
+        }
+
+        @Override
+        public CompletableFuture<Set<Capability>> fetchCapabilitiesAsync() {
+            return CompletableFuture.completedFuture(Set.of(Capability.STREAM));
+        }
+
+        @Override
+        public CompletableFuture<Optional<RosterVersion>> streamAllAsync(Consumer<MockEmployee> sink) {
+            roster.forEach(sink);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * The log statement of the top-10 request, as {@code EmployeeService} makes it, under many concurrent requests:
+ * written synchronously, flushing every event the way the console appender does, against handed to an
+ * {@link AsyncAppender} set up like {@code logback-spring.xml}'s; and at INFO against DEBUG with the logger at INFO.
+ *
+ * <p>Sample time mode, so the tail of the distribution (p99, p99.9) is reported alongside the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class LoggingBenchmark {
+
+    /*
+     * Boot's console pattern, without colours.
+     */
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"INFO", "DEBUG"})
+    private String statementLevel;
+
+    private LoggerContext context;
+    private Logger log;
+    private boolean atInfo;
+    private Path file;
+    private List<String> top10Names;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        file = Files.createTempFile("logging-benchmark", ".log");
+
+        final var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        final var fileAppender = new FileAppender<ILoggingEvent>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.setImmediateFlush(true);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> used = fileAppender;
+        if ("async".equals(appender)) {
+            final var async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender);
+            async.start();
+            used = async;
+        }
+
+        log = context.getLogger(EmployeeService.class);
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+        log.setAdditive(false);
+        log.addAppender(used);
+        atInfo = "INFO".equals(statementLevel);
+
+        top10Names = Rosters.generate(10).stream().map(MockEmployee::getName).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void topTenHighestEarners() {
+        if (atInfo) {
+            log.info("Top 10 highest earners: {}", top10Names);
+        } else {
+            log.debug("Top 10 highest earners: {}", top10Names);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and writes against the mock server's store, through {@link MockEmployeeService} so the change log is
+ * included. Writes are paired with their inverse, keeping the roster at its nominal size for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int rosterSize;
+
+    private MockEmployeeStore store;
+    private MockEmployeeService mockEmployeeService;
+    private List<MockEmployee> roster;
+    private CreateMockEmployeeInput input;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.generate(rosterSize);
+        store = new MockEmployeeStore(roster);
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(Locale.ROOT), store, new EmployeeChangeLog(10_000), ObservationRegistry.NOOP);
+        input = new CreateMockEmployeeInput();
+        input.setName("Benchmark Employee");
+        input.setSalary(100_000);
+        input.setAge(40);
+        input.setTitle("Engineer");
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(nextEmployee().getId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> createThenDeleteById() {
+        final var created = mockEmployeeService.create(input);
+        return mockEmployeeService.deleteById(created.getId());
+    }
+
+    /*
+     * The employee goes back into the store directly, which is cheaper than a create and keeps its id.
+     */
+    @Benchmark
+    public Optional<MockEmployee> deleteByIdThenRestore() {
+        final var employee = nextEmployee();
+        final var deleted = mockEmployeeService.deleteById(employee.getId());
+        store.add(employee);
+        return deleted;
+    }
+
+    private MockEmployee nextEmployee() {
+        final var employee = roster.get(next);
+        next = next + 1 == roster.size() ? 0 : next + 1;
+        return employee;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeJsonFeed;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encoding and decoding the {@code Response<List<MockEmployee>>} envelope the upstream returns for the full list:
+ * databind both ways, and the token-level {@link EmployeeJsonFeed} the API decodes it with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseJsonBenchmark {
+
+    private static final TypeReference<Response<List<MockEmployee>>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    @Param({"50", "1000", "100000", "1000000"})
+    private int rosterSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Response<List<MockEmployee>> response;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = Response.handledWith(Rosters.generate(rosterSize));
+        json = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Response<List<MockEmployee>> deserialize() throws IOException {
+        return objectMapper.readValue(json, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public int decodeWithFeed(Blackhole blackhole) throws IOException {
+        try (final var parser = objectMapper.getFactory().createParser(json)) {
+            return EmployeeJsonFeed.blocking(parser, EmployeeJsonFeed.Layout.ENVELOPE, blackhole::consume)
+                    .readFully();
+        }
+    }
+}
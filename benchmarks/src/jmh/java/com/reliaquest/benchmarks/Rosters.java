@@ -0,0 +1,47 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic rosters, so every run and every release measures the same data.
+ */
+final class Rosters {
+
+    /*
+     * Occurs in roughly one name in twelve.
+     */
+    static final String SEARCH_FRAGMENT = "ohn";
+
+    private static final String[] FIRST_NAMES = {
+        "John", "Steve", "Ada", "Grace", "Linus", "Barbara", "Ken", "Margaret", "Dennis", "Frances", "Alan", "Radia"
+    };
+    private static final String[] LAST_NAMES = {
+        "Adams", "Smith", "Lovelace", "Hopper", "Torvalds", "Liskov", "Thompson", "Hamilton", "Ritchie", "Allen"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Manager", "Director", "Analyst", "Designer", "Architect", "Intern"
+    };
+
+    private Rosters() {}
+
+    static List<MockEmployee> generate(int size) {
+        final var random = new SplittableRandom(size);
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final var first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            final var last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    first + " " + last,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 70),
+                    TITLES[random.nextInt(TITLES.length)],
+                    (first + "." + last + i + "@company.com").toLowerCase()));
+        }
+        return employees;
+    }
+}
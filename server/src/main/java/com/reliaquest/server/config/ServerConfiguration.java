@@ -1,19 +1,26 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.service.RosterFile;
+import com.reliaquest.server.service.RosterGenerator;
+import com.reliaquest.server.web.EmployeeEventBroadcaster;
+import com.reliaquest.server.web.GcraLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,9 +28,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RequestLimitProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
-    public static final String EMAIL_TEMPLATE = "%s@company.com";
+    private final MeterRegistry meterRegistry;
+
+    private final RequestLimitProperties requestLimitProperties;
 
     @Bean
     public Faker faker() {
@@ -31,29 +42,82 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Modifiable by design for CRUD operations, and safe to mutate from concurrent requests.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.snapshot-file:#{null}}") Path snapshotFile) {
+        final long startNanos = System.nanoTime();
+        final var roster = snapshotFile != null
+                ? RosterFile.load(snapshotFile, maxEmployees, seed).orElse(null)
+                : null;
+        if (roster != null) {
+            log.info(
+                    "Loaded {} employees from {} in {}ms",
+                    roster.size(),
+                    snapshotFile,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return new MockEmployeeStore(roster);
+        }
+
+        final long rosterSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        final var generated = new RosterGenerator(rosterSeed, Locale.getDefault()).generate(maxEmployees);
+        log.info(
+                "Seeded {} employees from seed {} in {}ms",
+                maxEmployees,
+                rosterSeed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        if (snapshotFile != null) {
+            try {
+                RosterFile.write(snapshotFile, rosterSeed, generated);
+                log.info("Saved roster snapshot to {}", snapshotFile);
+            } catch (IOException e) {
+                log.warn("Could not save roster snapshot to {}", snapshotFile, e);
+            }
+        }
+        return new MockEmployeeStore(generated);
+    }
+
+    /*
+     * Changes further back than the capacity are dropped; clients that fall that far behind reload the full list.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public EmployeeChangeLog employeeChangeLog(@Value("${mock.changelog.capacity:10000}") int capacity) {
+        return new EmployeeChangeLog(capacity);
+    }
+
+    @Bean
+    public EmployeeEventBroadcaster employeeEventBroadcaster(
+            EmployeeChangeLog employeeChangeLog,
+            @Value("${mock.events.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        return new EmployeeEventBroadcaster(employeeChangeLog, heartbeatInterval);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!requestLimitProperties.isEnabled()) {
+            return;
+        }
+        final var random = RandomGenerator.getDefault();
+        final int limit = requestLimitProperties.getLimit() != null
+                ? requestLimitProperties.getLimit()
+                : random.nextInt(5, 10);
+        final var backoff = requestLimitProperties.getBackoff() != null
+                ? requestLimitProperties.getBackoff()
+                : Duration.ofSeconds(random.nextInt(30, 90));
+        log.info(
+                "Rate limiting {} requests to {} per {}s",
+                requestLimitProperties.getKey().name().toLowerCase(),
+                limit,
+                backoff.toSeconds());
+        final var rejections = Counter.builder("mock.requests.rate.limited")
+                .description("Requests rejected with a 429 by the mock's rate limiter")
+                .register(meterRegistry);
+        // scrapes and health checks must not spend the quota the API is being tested against
+        registry.addInterceptor(new RequestLimitInterceptor(
+                        new GcraLimiter(limit, backoff), requestLimitProperties.getKey(), rejections))
+                .excludePathPatterns("/actuator/**");
     }
 }
@@ -1,15 +1,34 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.BatchItemResult;
+import com.reliaquest.server.model.Capability;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeePage;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.model.SalaryStats;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.EmployeeEventBroadcaster;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.BufferedOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +36,160 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int MAX_PAGE_SIZE = 1_000;
+
+    /*
+     * Per request to POST and DELETE /batch; clients can refuse larger batches before sending them.
+     */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final EmployeeEventBroadcaster employeeEventBroadcaster;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ObservationRegistry observationRegistry;
+
+    /*
+     * The ETag is the roster version, epoch included; a client that already holds it gets a 304 and no body.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        final var eTag = eTag(mockEmployeeService.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /*
+     * Every endpoint beyond the stock server's; a stock server answers this path with a 500, as "capabilities" is not
+     * a UUID.
+     */
+    @GetMapping("/capabilities")
+    public Response<Set<Capability>> getCapabilities() {
+        return Response.handledWith(EnumSet.allOf(Capability.class));
+    }
+
+    /*
+     * 410 Gone when the change log no longer reaches back to the given version, or it is from before a restart.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<EmployeeChanges>> getChanges(
+            @RequestParam(name = "since") String since,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        try {
+            return mockEmployeeService
+                    .getChangesSince(RosterVersion.parse(since), limit)
+                    .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                            .body(Response.error(
+                                    "Changes since version %s are no longer retained.".formatted(since))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<Response<EmployeePage>> getEmployeePage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        try {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getPage(cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+        }
+    }
+
+    /*
+     * One employee per line, written as the store is iterated, so neither side buffers the whole list. The body is
+     * written on another thread, so its span is parented to the request explicitly.
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(WebRequest request) {
+        final var eTag = eTag(mockEmployeeService.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        final var writer = objectMapper.writerFor(MockEmployee.class);
+        final var employees = mockEmployeeService.streamMockEmployees();
+        final var parent = observationRegistry.getCurrentObservation();
+        StreamingResponseBody body = outputStream -> Observation.createNotStarted(
+                        "mock.employee.serialize", observationRegistry)
+                .parentObservation(parent)
+                .contextualName("serialize employees")
+                .lowCardinalityKeyValue("format", "ndjson")
+                .observeChecked(() -> {
+                    final var buffered = new BufferedOutputStream(outputStream);
+                    for (final var employee : employees) {
+                        buffered.write(writer.writeValueAsBytes(employee));
+                        buffered.write('\n');
+                    }
+                    buffered.flush();
+                });
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /*
+     * Server-Sent Events, one per change. A reconnecting client resumes after its Last-Event-ID; "since" does the
+     * same for a first connection.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(name = "since", required = false) String since) {
+        return employeeEventBroadcaster.subscribe(Optional.ofNullable(lastEventId != null ? lastEventId : since));
+    }
+
+    @GetMapping("/salary/stats")
+    public Response<SalaryStats> getSalaryStats() {
+        return Response.handledWith(mockEmployeeService.getSalaryStats());
+    }
+
+    @GetMapping("/salary/top")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("Limit must be between 1 and %d.".formatted(MAX_PAGE_SIZE)));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getTopEarners(limit)));
+    }
+
+    @GetMapping("/search/name")
+    public ResponseEntity<Response<List<MockEmployee>>> searchByName(@RequestParam(name = "contains") String fragment) {
+        if (fragment.isBlank()) {
+            return ResponseEntity.badRequest().body(Response.error("Search fragment must not be blank."));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.searchByName(fragment)));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +209,71 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    /*
+     * Each input is validated on its own; invalid ones are reported and skipped, the rest are created.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most %d employees per batch.".formatted(MAX_BATCH_SIZE)));
+        }
+        final List<BatchItemResult<MockEmployee>> results = new ArrayList<>(inputs.size());
+        for (int index = 0; index < inputs.size(); index++) {
+            final var input = inputs.get(index);
+            final var error = input == null ? "Missing employee." : violations(input);
+            results.add(error == null
+                    ? BatchItemResult.created(index, mockEmployeeService.create(input))
+                    : BatchItemResult.invalid(index, error));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<MockEmployee>>>> deleteEmployees(
+            @RequestBody List<UUID> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("At most %d employees per batch.".formatted(MAX_BATCH_SIZE)));
+        }
+        final List<BatchItemResult<MockEmployee>> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            final var id = ids.get(index);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(index, "Missing id."));
+                continue;
+            }
+            final int position = index;
+            results.add(mockEmployeeService
+                    .deleteById(id)
+                    .map(employee -> BatchItemResult.deleted(position, employee))
+                    .orElseGet(() -> BatchItemResult.notFound(position)));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
+    private static String eTag(RosterVersion version) {
+        return "\"" + version + "\"";
+    }
+
+    private String violations(CreateMockEmployeeInput input) {
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
 }
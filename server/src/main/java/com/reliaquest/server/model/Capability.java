@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+/**
+ * Endpoints this mock server offers beyond the stock one, which only lists, fetches by id, creates and deletes by
+ * name. Clients read them from {@code GET /capabilities} rather than inferring them from error responses: the stock
+ * server answers an unknown route, or a path segment that is not a UUID, with a 500 like any other failure.
+ */
+public enum Capability {
+    STREAM,
+    PAGE,
+    CHANGES,
+    EVENTS,
+    SALARY_STATS,
+    TOP_EARNERS,
+    NAME_SEARCH,
+    DELETE_BY_ID,
+    BATCH
+}
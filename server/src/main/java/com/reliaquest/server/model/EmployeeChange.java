@@ -0,0 +1,25 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * One write to the roster, stamped with the roster version it produced. Creates carry the created employee; deletes
+ * only the id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChange(long version, Type type, UUID id, MockEmployee employee) {
+
+    public static EmployeeChange created(long version, MockEmployee employee) {
+        return new EmployeeChange(version, Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChange deleted(long version, UUID id) {
+        return new EmployeeChange(version, Type.DELETED, id, null);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
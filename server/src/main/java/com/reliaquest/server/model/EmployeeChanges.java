@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after a known version, oldest first. Applying them brings a copy of the roster to {@code version}; when
+ * {@code more} is set, further changes follow it.
+ */
+public record EmployeeChanges(List<EmployeeChange> changes, long version, boolean more) {}
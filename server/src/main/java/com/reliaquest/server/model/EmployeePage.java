@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * One page of employees in insertion order. {@code nextCursor} fetches the page after it, and is absent on the last
+ * page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
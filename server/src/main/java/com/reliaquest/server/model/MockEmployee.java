@@ -14,6 +14,11 @@ import lombok.NonNull;
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
 public class MockEmployee {
 
+    /*
+     * Company email address for a user name, for employees the mock creates or generates.
+     */
+    public static final String EMAIL_TEMPLATE = "%s@company.com";
+
     private UUID id;
     private String name;
     private Integer salary;
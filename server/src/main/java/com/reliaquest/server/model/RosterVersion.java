@@ -0,0 +1,36 @@
+package com.reliaquest.server.model;
+
+/**
+ * A roster version as clients see it in ETags, {@code since} and event ids: the epoch of the change log that issued
+ * it and the version within that epoch, written {@code epoch.version}. The epoch changes with every boot, when
+ * versions start over from 0, so a version from an earlier boot is recognisable as one.
+ */
+public record RosterVersion(String epoch, long version) {
+
+    /**
+     * @return {@code version} in the same epoch
+     */
+    public RosterVersion at(long version) {
+        return new RosterVersion(epoch, version);
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code token} is not an {@code epoch.version} pair
+     */
+    public static RosterVersion parse(String token) {
+        final int dot = token.lastIndexOf('.');
+        if (dot < 1) {
+            throw new IllegalArgumentException("Malformed version: " + token);
+        }
+        try {
+            return new RosterVersion(token.substring(0, dot), Long.parseLong(token.substring(dot + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed version: " + token, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return epoch + "." + version;
+    }
+}
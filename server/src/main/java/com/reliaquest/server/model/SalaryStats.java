@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Salary aggregates over the whole roster; {@code min}, {@code max} and {@code average} are absent when it is empty.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SalaryStats(int count, Integer min, Integer max, Double average) {}
@@ -0,0 +1,100 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Roster version counter plus a bounded log of the most recent changes.
+ *
+ * <p>Every create or delete bumps the version by one, so versions are contiguous and the change for version {@code v}
+ * lives in slot {@code v % capacity} of a ring; the oldest change is overwritten once the ring is full. Version 0 is
+ * the seeded roster.
+ *
+ * <p>Versions start over with every boot, so each log draws a random epoch and hands versions out as
+ * {@link RosterVersion}s of that epoch. A version from another epoch is treated like one the ring no longer reaches:
+ * the caller starts over from the full list instead of applying changes from a roster it never saw.
+ *
+ * <p>Listeners are told about every append, so changes can be pushed as well as polled.
+ */
+public class EmployeeChangeLog {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36);
+
+    private final EmployeeChange[] ring;
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    /*
+     * Guarded by this.
+     */
+    private long version;
+
+    public EmployeeChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive: " + capacity);
+        }
+        this.ring = new EmployeeChange[capacity];
+    }
+
+    /**
+     * @param listener runs after every append, on the writing thread and while the log is locked, so it must only
+     * hand the work off
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized RosterVersion version() {
+        return new RosterVersion(epoch, version);
+    }
+
+    public synchronized void created(MockEmployee employee) {
+        append(EmployeeChange.created(version + 1, employee));
+    }
+
+    public synchronized void deleted(UUID id) {
+        append(EmployeeChange.deleted(version + 1, id));
+    }
+
+    /**
+     * @return up to {@code limit} changes after {@code from}, or empty when {@code from} is from another epoch or some
+     * of the changes have already been overwritten, and the caller has to start over from the full list
+     * @throws IllegalArgumentException when {@code from} is negative or ahead of the current version
+     */
+    public synchronized Optional<EmployeeChanges> since(RosterVersion from, int limit) {
+        if (!epoch.equals(from.epoch())) {
+            return Optional.empty();
+        }
+        final long since = from.version();
+        if (since < 0 || since > version) {
+            throw new IllegalArgumentException("Unknown version: " + from);
+        }
+        if (version - since > ring.length) {
+            return Optional.empty();
+        }
+        final long until = Math.min(version, since + limit);
+        final List<EmployeeChange> changes = new ArrayList<>((int) (until - since));
+        for (long next = since + 1; next <= until; next++) {
+            changes.add(ring[slot(next)]);
+        }
+        return Optional.of(new EmployeeChanges(changes, until, until < version));
+    }
+
+    private void append(EmployeeChange change) {
+        ring[slot(change.version())] = change;
+        version = change.version();
+        listeners.forEach(Runnable::run);
+    }
+
+    private int slot(long version) {
+        return (int) (version % ring.length);
+    }
+}
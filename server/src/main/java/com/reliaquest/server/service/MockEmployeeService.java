@@ -1,14 +1,19 @@
 package com.reliaquest.server.service;
 
-import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeePage;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.model.SalaryStats;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +27,116 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final EmployeeChangeLog employeeChangeLog;
+
+    private final ObservationRegistry observationRegistry;
+
+    /*
+     * Writes apply to the store and the change log together, so change versions follow the order the store saw.
+     * Reads take no lock.
+     */
+    private final Object writeLock = new Object();
+
+    public List<MockEmployee> getMockEmployees() {
+        return observe("getMockEmployees", mockEmployeeStore::findAll);
+    }
+
+    /**
+     * @return employees in insertion order, read lazily so a large store can be streamed without copying it
+     */
+    public Collection<MockEmployee> streamMockEmployees() {
+        return mockEmployeeStore.values();
+    }
+
+    /**
+     * Read this before reading employees: the list then reflects at least every change up to the returned version.
+     */
+    public RosterVersion getVersion() {
+        return employeeChangeLog.version();
+    }
+
+    /**
+     * @return empty when changes after {@code since} are no longer retained, or {@code since} is from before a restart
+     * @throws IllegalArgumentException when {@code since} is not a version this roster has had
+     */
+    public Optional<EmployeeChanges> getChangesSince(RosterVersion since, int limit) {
+        return observe("getChangesSince", () -> employeeChangeLog.since(since, limit));
+    }
+
+    public EmployeePage getPage(String cursor, int limit) {
+        return observe("getPage", () -> mockEmployeeStore.page(cursor, limit));
+    }
+
+    public SalaryStats getSalaryStats() {
+        return observe("getSalaryStats", mockEmployeeStore::salaryStats);
+    }
+
+    public List<MockEmployee> getTopEarners(int limit) {
+        return observe("getTopEarners", () -> mockEmployeeStore.topEarners(limit));
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        return observe("searchByName", () -> mockEmployeeStore.searchByName(fragment));
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return observe("findById", () -> mockEmployeeStore.findById(uuid));
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        return observe("create", () -> add(input));
+    }
+
+    private MockEmployee add(CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                MockEmployee.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        synchronized (writeLock) {
+            mockEmployeeStore.add(mockEmployee);
+            employeeChangeLog.created(mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        return observe("deleteById", () -> removeById(uuid));
+    }
+
+    private Optional<MockEmployee> removeById(UUID uuid) {
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (writeLock) {
+            mockEmployee = mockEmployeeStore.removeById(uuid);
+            mockEmployee.ifPresent(employee -> employeeChangeLog.deleted(employee.getId()));
+        }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        return observe("delete", () -> removeByName(input));
+    }
+
+    private boolean removeByName(DeleteMockEmployeeInput input) {
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (writeLock) {
+            mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
+            mockEmployee.ifPresent(employee -> employeeChangeLog.deleted(employee.getId()));
         }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
 
-        return false;
+    /*
+     * One span (and timer) per operation, nested under the request that called it.
+     */
+    private <T> T observe(String operation, Supplier<T> call) {
+        return Observation.createNotStarted("mock.employee.service", observationRegistry)
+                .contextualName(operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(call);
     }
 }
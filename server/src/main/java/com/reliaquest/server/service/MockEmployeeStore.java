@@ -0,0 +1,230 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SalaryStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Concurrent in-memory employee store: a hash index by id, a case-folded name index, and insertion order kept by a
+ * sequence number, so listing returns employees in the order they were added. A salary-ordered index and a running
+ * total answer the salary aggregates without scanning.
+ *
+ * <p>Lookups by id or name are O(1) and writes O(log n) for the ordering. No operation takes a lock; the id index
+ * decides races, since only the thread whose {@code remove} actually takes the employee out of it goes on to unlink
+ * it from the other indexes.
+ */
+public class MockEmployeeStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+
+    /*
+     * Folded name -> sequence -> id, so deleting by name removes the earliest match, as the list scan used to.
+     */
+    private final Map<String, ConcurrentNavigableMap<Long, UUID>> byName = new ConcurrentHashMap<>();
+
+    /*
+     * Highest salary first, ties in insertion order.
+     */
+    private final ConcurrentSkipListSet<Entry> bySalary = new ConcurrentSkipListSet<>(
+            Comparator.comparingInt(Entry::salary).reversed().thenComparingLong(Entry::seq));
+
+    private final LongAdder salaryTotal = new LongAdder();
+
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        employees.forEach(this::add);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    /**
+     * Adds the employee, replacing any stored under the same id.
+     */
+    public void add(@NonNull MockEmployee employee) {
+        final var id = Objects.requireNonNull(employee.getId(), "Employee id");
+        final var entry = Entry.of(sequence.incrementAndGet(), employee);
+        bySequence.put(entry.seq(), employee);
+        bySalary.add(entry);
+        salaryTotal.add(entry.salary());
+        if (employee.getName() != null) {
+            byName.compute(fold(employee.getName()), (ignored, ids) -> {
+                final var indexed = ids != null ? ids : new ConcurrentSkipListMap<Long, UUID>();
+                indexed.put(entry.seq(), id);
+                return indexed;
+            });
+        }
+        final var replaced = byId.put(id, entry);
+        if (replaced != null) {
+            unlink(replaced);
+        }
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final var removed = byId.remove(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        unlink(removed);
+        return Optional.of(removed.employee());
+    }
+
+    /**
+     * Removes the earliest-added employee whose name equals {@code name}, ignoring case.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var candidates = byName.get(fold(name));
+        if (candidates == null) {
+            return Optional.empty();
+        }
+        for (final var candidate : candidates.entrySet()) {
+            final var entry = byId.get(candidate.getValue());
+            // a concurrent delete may have won this one, or the id now belongs to a newer entry
+            if (entry != null && entry.seq() == candidate.getKey() && byId.remove(candidate.getValue(), entry)) {
+                unlink(entry);
+                return Optional.of(entry.employee());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return all employees in insertion order, copied
+     */
+    public List<MockEmployee> findAll() {
+        return new ArrayList<>(bySequence.values());
+    }
+
+    /**
+     * @return a live, weakly consistent view in insertion order; iterating it copies nothing
+     */
+    public Collection<MockEmployee> values() {
+        return Collections.unmodifiableCollection(bySequence.values());
+    }
+
+    /**
+     * @param cursor from a previous page, or {@code null} for the first one
+     * @throws IllegalArgumentException when the cursor was not issued by this store
+     */
+    public EmployeePage page(String cursor, int limit) {
+        final long after;
+        try {
+            after = cursor == null ? 0 : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        final List<MockEmployee> employees = new ArrayList<>(limit);
+        long last = after;
+        for (final var entry : bySequence.tailMap(after, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new EmployeePage(employees, Long.toString(last));
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new EmployeePage(employees, null);
+    }
+
+    /**
+     * Aggregates may mix the effects of concurrent writes, but never count an employee twice.
+     */
+    public SalaryStats salaryStats() {
+        final int count = byId.size();
+        if (count == 0 || bySalary.isEmpty()) {
+            return new SalaryStats(0, null, null, null);
+        }
+        try {
+            return new SalaryStats(
+                    count, bySalary.last().salary(), bySalary.first().salary(), salaryTotal.doubleValue() / count);
+        } catch (NoSuchElementException emptiedConcurrently) {
+            return new SalaryStats(0, null, null, null);
+        }
+    }
+
+    /**
+     * @return the {@code limit} highest-paid employees, highest first, ties in insertion order
+     */
+    public List<MockEmployee> topEarners(int limit) {
+        final List<MockEmployee> top = new ArrayList<>(Math.min(limit, size()));
+        for (final var entry : bySalary) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(entry.employee());
+        }
+        return top;
+    }
+
+    /**
+     * @return employees, in insertion order, whose lower-cased name contains the lower-cased {@code fragment}
+     */
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        final var needle = fragment.toLowerCase();
+        final List<MockEmployee> matches = new ArrayList<>();
+        for (final var employee : bySequence.values()) {
+            if (employee.getName() != null && employee.getName().toLowerCase().contains(needle)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void unlink(Entry entry) {
+        bySequence.remove(entry.seq());
+        if (bySalary.remove(entry)) {
+            salaryTotal.add(-entry.salary());
+        }
+        final var name = entry.employee().getName();
+        if (name != null) {
+            byName.computeIfPresent(fold(name), (ignored, ids) -> {
+                ids.remove(entry.seq());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /*
+     * Same per-character folding as String.equalsIgnoreCase, so index hits are exactly its matches.
+     */
+    static String fold(String name) {
+        final var folded = new StringBuilder(name.length());
+        name.codePoints()
+                .map(codePoint -> Character.toLowerCase(Character.toUpperCase(codePoint)))
+                .forEach(folded::appendCodePoint);
+        return folded.toString();
+    }
+
+    /*
+     * Salary is captured on insert, so the salary index never sees a key change underneath it.
+     */
+    private record Entry(long seq, int salary, MockEmployee employee) {
+
+        static Entry of(long seq, MockEmployee employee) {
+            return new Entry(seq, employee.getSalary() != null ? employee.getSalary() : 0, employee);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary snapshot of a generated roster, so a large roster is generated once and read back on later starts.
+ *
+ * <p>Layout, big-endian: a header (magic, format version, seed, employee count), the employee records, an index of
+ * each record's file offset, and the index's own offset as the last eight bytes. A record is the id as two longs,
+ * salary and age as ints ({@link Integer#MIN_VALUE} for none), then name, title and email as length-prefixed UTF-8
+ * (length -1 for none).
+ *
+ * <p>Reading memory-maps the file and decodes records in parallel, each straight from its indexed offset.
+ */
+@Slf4j
+public final class RosterFile {
+
+    private static final int MAGIC = 0x4D524F53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+    private static final int NONE = Integer.MIN_VALUE;
+
+    /**
+     * The seed the roster was generated with, and its size.
+     */
+    public record Header(long seed, int count) {}
+
+    private RosterFile() {}
+
+    /**
+     * Writes to a temporary file next to {@code file} first, then moves it into place, so a crash never leaves a
+     * partial roster behind.
+     */
+    public static void write(@NonNull Path file, long seed, @NonNull List<MockEmployee> employees) throws IOException {
+        final var absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        final var temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        final long[] offsets = new long[employees.size()];
+        try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(seed);
+            out.writeInt(employees.size());
+            long position = HEADER_BYTES;
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = position;
+                position += writeRecord(out, employees.get(i));
+            }
+            for (final long offset : offsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(position);
+            if (position + (long) Long.BYTES * (offsets.length + 1) > Integer.MAX_VALUE) {
+                throw new IOException("Roster of " + offsets.length + " employees is too large to map: " + file);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return empty when there is no file
+     * @throws IOException when the file is not a roster file this version can read
+     */
+    public static Optional<Header> readHeader(@NonNull Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(header(map(file)));
+    }
+
+    /**
+     * Reads the snapshot a start can boot from instead of generating a roster. Problems with the file are logged rather
+     * than thrown, since the caller generates a new roster either way.
+     *
+     * @param seed the configured seed, or null when any seed will do
+     * @return empty when the file is missing, unreadable, or was not generated with {@code count} employees from
+     * {@code seed}
+     */
+    public static Optional<List<MockEmployee>> load(@NonNull Path file, int count, Long seed) {
+        try {
+            final var header = readHeader(file).orElse(null);
+            if (header == null) {
+                return Optional.empty();
+            }
+            if (header.count() != count || (seed != null && header.seed() != seed)) {
+                log.info(
+                        "Ignoring roster snapshot {}: {} employees from seed {}, configured {} from seed {}",
+                        file,
+                        header.count(),
+                        header.seed(),
+                        count,
+                        seed != null ? seed : "random");
+                return Optional.empty();
+            }
+            return Optional.of(read(file));
+        } catch (IOException e) {
+            log.warn("Could not read roster snapshot {}, generating a new roster", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the employees, in the order they were written
+     * @throws IOException when the file is missing, not a roster file or truncated
+     */
+    public static List<MockEmployee> read(@NonNull Path file) throws IOException {
+        final var buffer = map(file);
+        final int count = header(buffer).count();
+        try {
+            final int index = (int) buffer.getLong(buffer.limit() - Long.BYTES);
+            if (index < HEADER_BYTES || index + (long) Long.BYTES * count != buffer.limit() - Long.BYTES) {
+                throw new IOException("Corrupt roster index in " + file);
+            }
+            // absolute reads only, so the threads can share the buffer
+            return IntStream.range(0, count)
+                    .parallel()
+                    .mapToObj(i -> readRecord(buffer, (int) buffer.getLong(index + i * Long.BYTES)))
+                    .toList();
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Truncated roster file " + file, e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE || channel.size() < HEADER_BYTES + Long.BYTES) {
+                throw new IOException("Not a roster file: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static Header header(MappedByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a roster file");
+        }
+        if (buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException("Unsupported roster file version " + buffer.getInt(Integer.BYTES));
+        }
+        return new Header(buffer.getLong(Integer.BYTES * 2), buffer.getInt(Integer.BYTES * 2 + Long.BYTES));
+    }
+
+    private static long writeRecord(DataOutputStream out, MockEmployee employee) throws IOException {
+        final var id = Objects.requireNonNull(employee.getId(), "Employee id");
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        out.writeInt(employee.getSalary() != null ? employee.getSalary() : NONE);
+        out.writeInt(employee.getAge() != null ? employee.getAge() : NONE);
+        return Long.BYTES * 2
+                + Integer.BYTES * 2
+                + writeString(out, employee.getName())
+                + writeString(out, employee.getTitle())
+                + writeString(out, employee.getEmail());
+    }
+
+    private static int writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return Integer.BYTES;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+
+    private static MockEmployee readRecord(MappedByteBuffer buffer, int offset) {
+        final var id = new UUID(buffer.getLong(offset), buffer.getLong(offset + Long.BYTES));
+        int position = offset + Long.BYTES * 2;
+        final int salary = buffer.getInt(position);
+        final int age = buffer.getInt(position + Integer.BYTES);
+        position += Integer.BYTES * 2;
+        final var name = readString(buffer, position);
+        position += Integer.BYTES + (name != null ? buffer.getInt(position) : 0);
+        final var title = readString(buffer, position);
+        position += Integer.BYTES + (title != null ? buffer.getInt(position) : 0);
+        final var email = readString(buffer, position);
+        return new MockEmployee(id, name, salary != NONE ? salary : null, age != NONE ? age : null, title, email);
+    }
+
+    private static String readString(MappedByteBuffer buffer, int position) {
+        final int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
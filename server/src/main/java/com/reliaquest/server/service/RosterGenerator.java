@@ -0,0 +1,84 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/**
+ * Generates the seeded roster in parallel: the employees are split into fixed-size chunks, generated on the fork/join
+ * pool, each by its own {@link Faker} (they are not thread-safe) with a random derived from the seed and the chunk
+ * number. The same seed, size and locale therefore yield the same roster, in the same order, however many threads
+ * ran. The seed is spread out before the chunk number is added, so neighbouring seeds share no chunks.
+ */
+public class RosterGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    /*
+     * 2^64 divided by the golden ratio, the increment SplittableRandom itself uses; odd, so no two seeds collide.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final Locale locale;
+    private final int chunkSize;
+
+    public RosterGenerator(long seed, @NonNull Locale locale) {
+        this(seed, locale, CHUNK_SIZE);
+    }
+
+    RosterGenerator(long seed, Locale locale, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.seed = seed;
+        this.locale = locale;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Employee count must not be negative: " + count);
+        }
+        final int chunks = (count + chunkSize - 1) / chunkSize;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(chunk, Math.min(chunkSize, count - chunk * chunkSize)))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        final var random = new Random(new SplittableRandom(seed * GOLDEN_GAMMA + chunk).nextLong());
+        final var faker = new Faker(locale, random);
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(MockEmployee.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    /*
+     * A version 4 UUID, but drawn from the seeded random rather than SecureRandom.
+     */
+    private static UUID uuid(Random random) {
+        final long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSigBits = (random.nextLong() & ~(0xC0L << 56)) | (0x80L << 56);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.server.tracing;
+
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+
+/**
+ * Head sampler for traces that start here: samples the configured share of traces, but never more than a fixed
+ * number per second, so tracing costs the same at peak traffic as at a tenth of it. Requests that arrive with a
+ * sampling decision keep it.
+ */
+public final class CappedSampler extends Sampler {
+
+    private final Sampler share;
+    private final Sampler ceiling;
+
+    private CappedSampler(Sampler share, Sampler ceiling) {
+        this.share = share;
+        this.ceiling = ceiling;
+    }
+
+    /**
+     * @param probability share of traces to sample, from 0 to 1
+     * @param maxTracesPerSecond upper bound on sampled traces per second, across all threads
+     */
+    public static Sampler create(float probability, int maxTracesPerSecond) {
+        if (probability == 0 || maxTracesPerSecond == 0) {
+            return Sampler.NEVER_SAMPLE;
+        }
+        return new CappedSampler(Sampler.create(probability), RateLimitingSampler.create(maxTracesPerSecond));
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        return share.isSampled(traceId) && ceiling.isSampled(traceId);
+    }
+
+    @Override
+    public String toString() {
+        return "CappedSampler(" + share + ", " + ceiling + ")";
+    }
+}
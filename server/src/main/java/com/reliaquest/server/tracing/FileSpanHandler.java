@@ -0,0 +1,119 @@
+package com.reliaquest.server.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports finished spans to a local file, one Zipkin v2 JSON object per line, so traces can be read without running a
+ * collector; a file can be uploaded to a Zipkin UI as it is.
+ *
+ * <p>Finishing a span only offers it to a bounded queue. Encoding and writing happen on one background thread, which
+ * flushes whenever the queue runs empty. When the writer falls behind, spans are dropped rather than slowing requests
+ * down.
+ */
+@Slf4j
+public class FileSpanHandler extends SpanHandler implements Closeable {
+
+    private static final long POLL_MILLIS = 200;
+
+    private final Path file;
+    private final Writer writer;
+    private final BlockingQueue<MutableSpan> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread flusher;
+
+    private volatile boolean closed;
+
+    public FileSpanHandler(@NonNull Path file, int queueCapacity) throws IOException {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Span queue capacity must be positive: " + queueCapacity);
+        }
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        this.file = file;
+        this.writer = Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = Thread.ofPlatform().daemon().name("span-file-writer").start(this::drain);
+        log.info("Writing sampled spans to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && (closed || !queue.offer(span))) {
+            dropped.increment();
+        }
+        return true;
+    }
+
+    /**
+     * @return spans that were not written because the queue was full or the handler closed
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes out the spans still queued, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+        if (getDroppedCount() > 0) {
+            log.warn("Dropped {} span(s) that could not be written to {} in time", getDroppedCount(), file);
+        }
+    }
+
+    private void drain() {
+        final List<MutableSpan> batch = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                final var first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (final var span : batch) {
+                    // MutableSpan renders itself as Zipkin v2 JSON
+                    writer.write(span.toString());
+                    writer.write('\n');
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not write spans to {}, no further spans will be written", file, e);
+            closed = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes roster changes to Server-Sent Events subscribers.
+ *
+ * <p>Subscribers are fed from the {@link EmployeeChangeLog} rather than from the writes themselves: each one remembers
+ * the last version it was sent and, whenever the log grows, is sent everything after it. Replaying from a
+ * {@code Last-Event-ID} and live delivery are therefore the same code path, and a subscriber never sees a gap or a
+ * duplicate. One that fell behind further than the log reaches, or resumes from a version of an earlier boot, is sent a
+ * {@code resync} event and disconnected.
+ *
+ * <p>Sends run on virtual threads, at most one at a time per subscriber, so a slow subscriber holds up neither the
+ * writers nor the other subscribers. A periodic {@code heartbeat} carries the version the subscriber is at, which
+ * lets it confirm it is current and lets dead connections be noticed.
+ *
+ * <p>Events: {@code change} (id = the {@link RosterVersion}, data = the change as JSON), {@code heartbeat} (data = the
+ * version within the epoch) and {@code resync} (data = the current {@link RosterVersion}).
+ */
+@Slf4j
+public class EmployeeEventBroadcaster {
+
+    private static final int REPLAY_BATCH = 1_000;
+
+    private final EmployeeChangeLog changeLog;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final var thread = new Thread(runnable, "employee-events-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeEventBroadcaster(EmployeeChangeLog changeLog, Duration heartbeatInterval) {
+        this.changeLog = changeLog;
+        changeLog.addListener(() -> subscriptions.forEach(subscription -> subscription.schedule(false)));
+        heartbeats.scheduleWithFixedDelay(
+                () -> subscriptions.forEach(subscription -> subscription.schedule(true)),
+                heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param lastEventId the id of the last event the subscriber has seen; empty to receive only changes from now on
+     */
+    public SseEmitter subscribe(Optional<String> lastEventId) {
+        // times out with the container's async request timeout; the client reconnects with Last-Event-ID
+        final var emitter = new SseEmitter();
+        final var subscription = new Subscription(
+                emitter, lastEventId.isPresent() ? parse(lastEventId.get()) : changeLog.version());
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onError(failure -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        subscription.schedule(true);
+        log.debug("Employee event subscriber connected at version {}", subscription.lastSent);
+        return emitter;
+    }
+
+    /*
+     * Null for an id this log never issued; the subscriber is then told to resync.
+     */
+    private static RosterVersion parse(String lastEventId) {
+        try {
+            return RosterVersion.parse(lastEventId);
+        } catch (IllegalArgumentException malformed) {
+            return null;
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    public void close() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        senders.shutdown();
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private boolean closed;
+
+        /*
+         * Guarded by this.
+         */
+        private RosterVersion lastSent;
+
+        private Subscription(SseEmitter emitter, RosterVersion lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        /*
+         * Coalesces: while a send is queued, further requests ride along with it.
+         */
+        private void schedule(boolean heartbeat) {
+            if (heartbeat) {
+                heartbeatDue = true;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(() -> {
+                    scheduled.set(false);
+                    send();
+                });
+            }
+        }
+
+        private synchronized void send() {
+            if (closed) {
+                return;
+            }
+            try {
+                Optional<EmployeeChanges> changes;
+                do {
+                    changes = since(lastSent);
+                    if (changes.isEmpty()) {
+                        emitter.send(SseEmitter.event()
+                                .name("resync")
+                                .data(changeLog.version().toString()));
+                        close();
+                        return;
+                    }
+                    for (final var change : changes.get().changes()) {
+                        emitter.send(SseEmitter.event()
+                                .id(lastSent.at(change.version()).toString())
+                                .name("change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                        lastSent = lastSent.at(change.version());
+                    }
+                } while (changes.get().more());
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().name("heartbeat").data(lastSent.version()));
+                }
+            } catch (IOException | IllegalStateException gone) {
+                log.debug("Employee event subscriber went away: {}", gone.getMessage());
+                closed = true;
+                subscriptions.remove(this);
+            }
+        }
+
+        /*
+         * A version the log never had cannot be continued from either.
+         */
+        private Optional<EmployeeChanges> since(RosterVersion version) {
+            if (version == null) {
+                return Optional.empty();
+            }
+            try {
+                return changeLog.since(version, REPLAY_BATCH);
+            } catch (IllegalArgumentException unknownVersion) {
+                return Optional.empty();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscriptions.remove(this);
+            emitter.complete();
+        }
+    }
+}
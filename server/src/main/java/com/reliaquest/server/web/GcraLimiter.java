@@ -0,0 +1,104 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Generic cell rate algorithm: per key, admits a burst of {@code limit} requests and then one every
+ * {@code backoff / limit}, so a spent budget is whole again {@code backoff} after the last admitted request.
+ *
+ * <p>Each key's whole state is one theoretical arrival time, advanced with compare-and-set: no lock, no window to
+ * reset, and no allocation per request once the key has been seen. Rejected requests do not advance it.
+ *
+ * <p>A key whose theoretical arrival time has passed has its whole budget again, the same as a key never seen, so its
+ * entry can go. Once every {@code backoff} a request sweeps those entries out, so the map only holds keys seen within
+ * the last two backoffs, however many distinct keys arrive over time.
+ */
+public class GcraLimiter {
+
+    /*
+     * Written into an entry by the sweep before it is removed, so a request still holding the entry looks it up again
+     * rather than advancing a time nobody will read.
+     */
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long sweepIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Object, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    public GcraLimiter(int limit, @NonNull Duration backoff) {
+        this(limit, backoff, System::nanoTime);
+    }
+
+    GcraLimiter(int limit, Duration backoff, LongSupplier nanoClock) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Request limit must be positive: " + limit);
+        }
+        if (backoff.isNegative() || backoff.isZero()) {
+            throw new IllegalArgumentException("Backoff must be positive: " + backoff);
+        }
+        this.emissionIntervalNanos = Math.max(1, backoff.toNanos() / limit);
+        this.burstToleranceNanos = emissionIntervalNanos * (limit - 1);
+        this.sweepIntervalNanos = burstToleranceNanos + emissionIntervalNanos;
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return 0 when the request is admitted, otherwise how many nanoseconds until a request under {@code key} would
+     * be
+     */
+    public long tryAcquire(@NonNull Object key) {
+        final long now = nanoClock.getAsLong();
+        sweepIfDue(now);
+        var arrival = arrivals.get(key);
+        if (arrival == null) {
+            arrival = arrivals.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+        while (true) {
+            final long theoretical = arrival.get();
+            if (theoretical == EVICTED) {
+                arrival = arrivals.compute(
+                        key,
+                        (ignored, current) ->
+                                current == null || current.get() == EVICTED ? new AtomicLong(now) : current);
+                continue;
+            }
+            // a key idle for longer than its backoff starts from now; nanoTime values only compare by difference
+            final long from = theoretical - now > 0 ? theoretical : now;
+            final long wait = from - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(theoretical, from + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return how many keys currently have an entry
+     */
+    int size() {
+        return arrivals.size();
+    }
+
+    private void sweepIfDue(long now) {
+        final long last = lastSweep.get();
+        if (now - last < sweepIntervalNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        arrivals.forEach((key, arrival) -> {
+            final long theoretical = arrival.get();
+            if (theoretical - now <= 0 && arrival.compareAndSet(theoretical, EVICTED)) {
+                arrivals.remove(key, arrival);
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Throttles requests with a {@link GcraLimiter}, keyed as configured. A rejected request gets a 429 whose
+ * {@code Retry-After} is the number of seconds, rounded up, until it would have been admitted.
+ */
+@RequiredArgsConstructor
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private static final Object GLOBAL = new Object();
+
+    private final GcraLimiter limiter;
+
+    private final RequestLimitProperties.Key key;
+
+    /*
+     * Incremented for every request turned away with a 429.
+     */
+    private final Counter rejections;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // a streamed response is dispatched a second time to complete; it was already counted
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final long waitNanos = limiter.tryAcquire(keyOf(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(waitNanos)));
+        rejections.increment();
+        return false;
+    }
+
+    private Object keyOf(HttpServletRequest request) {
+        return switch (key) {
+            case GLOBAL -> GLOBAL;
+            case CLIENT -> request.getRemoteAddr();
+            case ROUTE -> new Route(
+                    request.getMethod(), request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        };
+    }
+
+    /*
+     * Rounded up: retrying after a rounded-down delay would be rejected again.
+     */
+    private static long retryAfterSeconds(long waitNanos) {
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        return (waitNanos + second - 1) / second;
+    }
+
+    private record Route(String method, Object pattern) {}
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Throttling settings for the mock server, bound from {@code mock.rate-limit.*}. Left unset, the limit and backoff
+ * are picked at random on startup, 5-9 requests and 30-89s, so clients cannot tune themselves to one value.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public class RequestLimitProperties {
+
+    private boolean enabled = true;
+
+    /*
+     * Requests admitted in a burst; afterwards one per backoff / limit.
+     */
+    private Integer limit;
+
+    /*
+     * Time for a spent limit to be restored in full.
+     */
+    private Duration backoff;
+
+    private Key key = Key.GLOBAL;
+
+    public enum Key {
+        /*
+         * One budget shared by every client and route.
+         */
+        GLOBAL,
+        /*
+         * A budget per client address.
+         */
+        CLIENT,
+        /*
+         * A budget per method and route pattern, e.g. GET /api/v1/employee/{id}.
+         */
+        ROUTE
+    }
+}
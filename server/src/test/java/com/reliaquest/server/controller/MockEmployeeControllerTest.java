@@ -0,0 +1,117 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.server.model.Capability;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * The mock server's capabilities, ETag and change log endpoints, backed by a real change log so versions carry its
+ * epoch.
+ */
+@ExtendWith(MockitoExtension.class)
+public class MockEmployeeControllerTest {
+
+    private static final String BASE_PATH = "/api/v1/employee";
+
+    private final EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+
+    private final MockEmployee tiger =
+            new MockEmployee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+
+    @Mock
+    MockEmployeeService mockEmployeeService;
+
+    @InjectMocks
+    MockEmployeeController mockEmployeeController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(mockEmployeeService.getVersion()).thenAnswer(invocation -> changeLog.version());
+        lenient().when(mockEmployeeService.getMockEmployees()).thenReturn(List.of(tiger));
+        lenient()
+                .when(mockEmployeeService.getChangesSince(any(), anyInt()))
+                .thenAnswer(invocation -> changeLog.since(invocation.getArgument(0), invocation.getArgument(1)));
+        mockMvc = MockMvcBuilders.standaloneSetup(mockEmployeeController).build();
+    }
+
+    @Test
+    void test_getCapabilities_ListsEveryExtension() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/capabilities"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(Capability.values().length)))
+                .andExpect(jsonPath("$.data[0]").value(Capability.STREAM.name()));
+    }
+
+    @Test
+    void test_getEmployees_CurrentETagIsNotModified() throws Exception {
+        String eTag = "\"" + changeLog.version() + "\"";
+
+        mockMvc.perform(get(BASE_PATH)).andExpect(status().isOk()).andExpect(header().string("ETag", eTag));
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+        changeLog.created(tiger);
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + changeLog.version() + "\""));
+    }
+
+    @Test
+    void test_getEmployees_ETagFromEarlierBootIsNotCurrent() throws Exception {
+        String beforeRestart = "\"" + new RosterVersion("earlier", changeLog.version().version()) + "\"";
+
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", beforeRestart))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    void test_getChanges_ContinuesFromVersion() throws Exception {
+        RosterVersion seeded = changeLog.version();
+        changeLog.created(tiger);
+        changeLog.deleted(tiger.getId());
+
+        mockMvc.perform(get(BASE_PATH + "/changes").param("since", seeded.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes", hasSize(2)))
+                .andExpect(jsonPath("$.data.changes[1].type").value("DELETED"))
+                .andExpect(jsonPath("$.data.version").value(2))
+                .andExpect(jsonPath("$.data.more").value(false));
+    }
+
+    @Test
+    void test_getChanges_VersionFromEarlierBootIsGone() throws Exception {
+        changeLog.created(tiger);
+
+        mockMvc.perform(get(BASE_PATH + "/changes").param("since", "earlier.0")).andExpect(status().isGone());
+    }
+
+    @Test
+    void test_getChanges_MalformedVersionIsBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/changes").param("since", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get(BASE_PATH + "/changes").param("since", changeLog.version().at(5).toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeChangeLogTest {
+
+    @Test
+    void test_Writes_GetContiguousVersions() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        RosterVersion seeded = changeLog.version();
+        MockEmployee hired = employee("Tiger Nixon");
+
+        changeLog.created(hired);
+        changeLog.deleted(hired.getId());
+        changeLog.created(employee("Garrett Winters"));
+
+        assertEquals(0, seeded.version());
+        assertEquals(seeded.at(3), changeLog.version());
+        EmployeeChanges changes = changeLog.since(seeded, 10).orElseThrow();
+        assertEquals(List.of(1L, 2L, 3L), versions(changes));
+        assertEquals(EmployeeChange.Type.DELETED, changes.changes().get(1).type());
+        assertEquals(hired.getId(), changes.changes().get(1).id());
+        assertEquals(3, changes.version());
+        assertFalse(changes.more());
+    }
+
+    @Test
+    void test_Since_PagesByLimit() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        RosterVersion seeded = changeLog.version();
+        for (int i = 0; i < 5; i++) {
+            changeLog.created(employee("Employee " + i));
+        }
+
+        EmployeeChanges first = changeLog.since(seeded, 2).orElseThrow();
+        EmployeeChanges rest = changeLog.since(seeded.at(first.version()), 10).orElseThrow();
+
+        assertEquals(List.of(1L, 2L), versions(first));
+        assertTrue(first.more());
+        assertEquals(List.of(3L, 4L, 5L), versions(rest));
+        assertFalse(rest.more());
+        assertEquals(List.of(), changeLog.since(seeded.at(5), 10).orElseThrow().changes());
+    }
+
+    @Test
+    void test_Since_BeyondCapacityIsEmpty() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(3);
+        RosterVersion seeded = changeLog.version();
+        for (int i = 0; i < 5; i++) {
+            changeLog.created(employee("Employee " + i));
+        }
+
+        assertEquals(Optional.empty(), changeLog.since(seeded, 10));
+        assertEquals(Optional.empty(), changeLog.since(seeded.at(1), 10));
+        assertEquals(List.of(3L, 4L, 5L), versions(changeLog.since(seeded.at(2), 10).orElseThrow()));
+    }
+
+    @Test
+    void test_Since_OtherEpochIsEmpty() {
+        EmployeeChangeLog beforeRestart = new EmployeeChangeLog(10);
+        EmployeeChangeLog afterRestart = new EmployeeChangeLog(10);
+        afterRestart.created(employee("Tiger Nixon"));
+
+        assertNotEquals(beforeRestart.version().epoch(), afterRestart.version().epoch());
+        assertEquals(Optional.empty(), afterRestart.since(beforeRestart.version(), 10));
+    }
+
+    @Test
+    void test_Since_UnknownVersionIsRejected() {
+        EmployeeChangeLog changeLog = new EmployeeChangeLog(10);
+        RosterVersion current = changeLog.version();
+
+        assertThrows(IllegalArgumentException.class, () -> changeLog.since(current.at(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> changeLog.since(current.at(-1), 10));
+    }
+
+    @Test
+    void test_RosterVersion_RoundTrips() {
+        RosterVersion version = new RosterVersion("k3x9", 42);
+
+        assertEquals("k3x9.42", version.toString());
+        assertEquals(version, RosterVersion.parse(version.toString()));
+        assertThrows(IllegalArgumentException.class, () -> RosterVersion.parse("42"));
+        assertThrows(IllegalArgumentException.class, () -> RosterVersion.parse("k3x9.next"));
+    }
+
+    private static List<Long> versions(EmployeeChanges changes) {
+        return changes.changes().stream().map(EmployeeChange::version).toList();
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", "employee@company.com");
+    }
+}
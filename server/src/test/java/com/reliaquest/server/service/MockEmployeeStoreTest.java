@@ -0,0 +1,166 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SalaryStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Races the mock server's lock-free store: deletes by id against deletes by name, and writes against reads.
+ */
+public class MockEmployeeStoreTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void test_DeleteByIdAndByName_RemoveEachEmployeeOnce() throws Exception {
+        // half the roster shares one name, so name deletes contend for the same index entry
+        List<MockEmployee> roster = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            roster.add(employee(i % 2 == 0 ? "Jane Doe" : "Employee " + i, 30_000 + i));
+        }
+        MockEmployeeStore store = new MockEmployeeStore(roster);
+        Set<UUID> removed = ConcurrentHashMap.newKeySet();
+        List<UUID> duplicates = Collections.synchronizedList(new ArrayList<>());
+
+        race(thread -> {
+            List<MockEmployee> order = new ArrayList<>(roster);
+            Collections.shuffle(order);
+            for (MockEmployee employee : order) {
+                Optional<MockEmployee> deleted = thread % 2 == 0
+                        ? store.removeById(employee.getId())
+                        : store.removeFirstByName(employee.getName().toUpperCase());
+                deleted.ifPresent(gone -> {
+                    if (!removed.add(gone.getId())) {
+                        duplicates.add(gone.getId());
+                    }
+                });
+            }
+        });
+
+        assertEquals(List.of(), duplicates);
+        assertEquals(roster.size(), removed.size());
+        assertEquals(0, store.size());
+        assertEquals(List.of(), store.findAll());
+        assertEquals(List.of(), store.topEarners(10));
+        assertEquals(new SalaryStats(0, null, null, null), store.salaryStats());
+    }
+
+    @Test
+    void test_WritesAndReads_KeepIndexesConsistent() throws Exception {
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService readers = Executors.newFixedThreadPool(THREADS / 2);
+        List<Future<?>> reads = new ArrayList<>();
+        try {
+            for (int r = 0; r < THREADS / 2; r++) {
+                reads.add(readers.submit(() -> {
+                    while (writing.get()) {
+                        List<MockEmployee> all = store.findAll();
+                        if (new HashSet<>(all.stream().map(MockEmployee::getId).toList()).size() != all.size()) {
+                            violations.add("findAll listed an employee twice");
+                        }
+                        List<MockEmployee> top = store.topEarners(20);
+                        for (int i = 1; i < top.size(); i++) {
+                            if (top.get(i - 1).getSalary() < top.get(i).getSalary()) {
+                                violations.add("topEarners out of order");
+                            }
+                        }
+                        SalaryStats stats = store.salaryStats();
+                        if (stats.count() > 0 && stats.min() != null && stats.min() > stats.max()) {
+                            violations.add("salaryStats min above max");
+                        }
+                    }
+                }));
+            }
+
+            race(thread -> {
+                List<MockEmployee> mine = new ArrayList<>();
+                for (int i = 0; i < 2_000; i++) {
+                    MockEmployee employee = employee("Writer " + thread + " #" + i, 30_000 + i);
+                    store.add(employee);
+                    mine.add(employee);
+                    if (i % 2 == 1) {
+                        MockEmployee victim = mine.remove(mine.size() - 2);
+                        if (i % 4 == 1) {
+                            store.removeById(victim.getId());
+                        } else {
+                            store.removeFirstByName(victim.getName());
+                        }
+                    }
+                }
+            });
+        } finally {
+            writing.set(false);
+        }
+        for (Future<?> read : reads) {
+            read.get(10, TimeUnit.SECONDS);
+        }
+        readers.shutdownNow();
+
+        assertEquals(List.of(), violations);
+        int expected = THREADS * 1_000;
+        assertEquals(expected, store.size());
+        assertEquals(expected, store.findAll().size());
+        assertEquals(expected, store.topEarners(Integer.MAX_VALUE).size());
+        SalaryStats stats = store.salaryStats();
+        double average = store.findAll().stream()
+                .mapToInt(MockEmployee::getSalary)
+                .average()
+                .orElseThrow();
+        assertEquals(expected, stats.count());
+        assertEquals(average, stats.average(), 1e-6);
+        assertEquals(expected, store.searchByName("writer").size());
+    }
+
+    /*
+     * Runs the task on every thread at once and waits for all of them.
+     */
+    private static void race(ThreadTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Engineer", "employee@company.com");
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
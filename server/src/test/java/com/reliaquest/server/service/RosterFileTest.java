@@ -0,0 +1,104 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Exercises the mock server's roster snapshot, which load tests boot from.
+ */
+public class RosterFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_WriteThenRead_RoundTripsRosterInOrder() throws IOException {
+        Path file = directory.resolve("snapshots/roster.bin");
+        List<MockEmployee> roster = List.of(
+                new MockEmployee(
+                        UUID.randomUUID(), "Ren\u00e9e \u00c5berg", 120000, 41, "Engineer", "renee@company.com"),
+                new MockEmployee(UUID.randomUUID(), null, null, null, null, null),
+                new MockEmployee(UUID.randomUUID(), "", 30000, 16, "", "x@company.com"));
+
+        RosterFile.write(file, 42L, roster);
+
+        assertEquals(new RosterFile.Header(42L, 3), RosterFile.readHeader(file).orElseThrow());
+        assertEquals(roster, RosterFile.read(file));
+    }
+
+    @Test
+    void test_ReadHeader_MissingFileIsEmpty() throws IOException {
+        assertTrue(RosterFile.readHeader(directory.resolve("missing.bin")).isEmpty());
+    }
+
+    @Test
+    void test_Read_RejectsTruncatedFile() throws IOException {
+        Path file = directory.resolve("roster.bin");
+        RosterFile.write(
+                file,
+                7L,
+                List.of(new MockEmployee(UUID.randomUUID(), "Jane Doe", 50000, 30, "Analyst", "jane@company.com")));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> RosterFile.read(file));
+    }
+
+    @Test
+    void test_ReadHeader_RejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(directory.resolve("roster.bin"), "not a roster, just some text");
+
+        assertThrows(IOException.class, () -> RosterFile.readHeader(file));
+    }
+
+    @Test
+    void test_Load_MatchingSnapshotIsRead() throws IOException {
+        Path file = directory.resolve("roster.bin");
+        List<MockEmployee> roster = List.of(
+                new MockEmployee(UUID.randomUUID(), "Jane Doe", 50000, 30, "Analyst", "jane@company.com"));
+        RosterFile.write(file, 7L, roster);
+
+        assertEquals(Optional.of(roster), RosterFile.load(file, 1, 7L));
+        // no configured seed accepts whichever seed the snapshot was generated from
+        assertEquals(Optional.of(roster), RosterFile.load(file, 1, null));
+    }
+
+    @Test
+    void test_Load_SizeOrSeedMismatchIsEmpty() throws IOException {
+        Path file = directory.resolve("roster.bin");
+        RosterFile.write(
+                file,
+                7L,
+                List.of(new MockEmployee(UUID.randomUUID(), "Jane Doe", 50000, 30, "Analyst", "jane@company.com")));
+
+        assertEquals(Optional.empty(), RosterFile.load(file, 2, 7L));
+        assertEquals(Optional.empty(), RosterFile.load(file, 1, 8L));
+        assertEquals(Optional.empty(), RosterFile.load(file, 2, null));
+    }
+
+    @Test
+    void test_Load_MissingOrUnreadableSnapshotIsEmpty() throws IOException {
+        Path file = directory.resolve("roster.bin");
+        RosterFile.write(
+                file,
+                7L,
+                List.of(new MockEmployee(UUID.randomUUID(), "Jane Doe", 50000, 30, "Analyst", "jane@company.com")));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertEquals(Optional.empty(), RosterFile.load(directory.resolve("missing.bin"), 1, 7L));
+        assertEquals(Optional.empty(), RosterFile.load(file, 1, 7L));
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exercises the mock server's roster generator with small chunks, so a few employees cross several chunk boundaries.
+ * Kept in the generator's package so it can set the chunk size.
+ */
+public class RosterGeneratorTest {
+
+    private static final long SEED = 42L;
+
+    private static final int CHUNK_SIZE = 4;
+
+    @Test
+    void test_SameSeed_GeneratesSameRoster() {
+        List<MockEmployee> first = new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(10);
+        List<MockEmployee> second = new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(10);
+
+        assertEquals(10, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void test_ChunkBoundaries_DoNotShiftEarlierEmployees() {
+        List<MockEmployee> roster = new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(10);
+
+        // a shorter roster ends partway through the second chunk, which must begin just as it does in the longer one
+        assertEquals(roster.subList(0, 7), new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(7));
+        assertEquals(roster.subList(0, 4), new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(4));
+        assertEquals(10, ids(roster).size());
+    }
+
+    @Test
+    void test_AdjacentSeeds_ShareNoChunks() {
+        List<MockEmployee> roster = new RosterGenerator(SEED, Locale.US, CHUNK_SIZE).generate(12);
+        List<MockEmployee> next = new RosterGenerator(SEED + 1, Locale.US, CHUNK_SIZE).generate(12);
+
+        // with the seed and chunk simply added, chunk 1 of one seed was chunk 0 of the next
+        assertNotEquals(roster.subList(4, 8), next.subList(0, 4));
+        assertEquals(Set.of(), intersection(ids(roster), ids(next)));
+    }
+
+    private static Set<UUID> ids(List<MockEmployee> roster) {
+        return roster.stream().map(MockEmployee::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<UUID> intersection(Set<UUID> first, Set<UUID> second) {
+        return first.stream().filter(second::contains).collect(Collectors.toSet());
+    }
+}
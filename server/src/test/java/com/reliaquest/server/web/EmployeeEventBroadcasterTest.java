@@ -0,0 +1,142 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterVersion;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Subscribes through a bare endpoint, so events are written to a mock servlet response as they are sent.
+ */
+public class EmployeeEventBroadcasterTest {
+
+    private final EmployeeChangeLog changeLog = new EmployeeChangeLog(3);
+
+    private final EmployeeEventBroadcaster broadcaster = new EmployeeEventBroadcaster(changeLog, Duration.ofMinutes(1));
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsEndpoint(broadcaster)).build();
+
+    private final RosterVersion seeded = changeLog.version();
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void test_Subscribe_ReplaysAfterLastEventId() throws Exception {
+        MockEmployee tiger = employee("Tiger Nixon");
+        changeLog.created(tiger);
+        changeLog.deleted(tiger.getId());
+
+        MvcResult result = subscribe(seeded.at(1).toString());
+
+        String content = awaitContent(result, "event:heartbeat");
+        assertFalse(content.contains("id:" + seeded.at(1)));
+        assertTrue(content.contains("id:" + seeded.at(2) + "\nevent:change\n"));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void test_Subscribe_PushesLaterChanges() throws Exception {
+        MvcResult result = subscribe(null);
+        awaitContent(result, "event:heartbeat");
+
+        changeLog.created(employee("Tiger Nixon"));
+        changeLog.created(employee("Garrett Winters"));
+
+        String content = awaitContent(result, "id:" + seeded.at(2));
+        assertTrue(content.indexOf("id:" + seeded.at(1)) < content.indexOf("id:" + seeded.at(2)));
+    }
+
+    @Test
+    void test_Subscribe_FromEarlierBootIsResynced() throws Exception {
+        changeLog.created(employee("Tiger Nixon"));
+
+        MvcResult result = subscribe(new RosterVersion("earlier", 0).toString());
+
+        String content = awaitContent(result, "event:resync");
+        assertFalse(content.contains("event:change"));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void test_Subscribe_BeyondLogIsResynced() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            changeLog.created(employee("Employee " + i));
+        }
+
+        MvcResult result = subscribe(seeded.toString());
+
+        String content = awaitContent(result, "event:resync");
+        assertTrue(content.contains("data:" + seeded.at(4)));
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void test_Subscribe_MalformedLastEventIdIsResynced() throws Exception {
+        MvcResult result = subscribe("12");
+
+        awaitContent(result, "event:resync");
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder events = get("/events");
+        if (lastEventId != null) {
+            events.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(events).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    /*
+     * Events are sent on the broadcaster's own threads; waits until one containing the fragment has been written.
+     */
+    private static String awaitContent(MvcResult result, String fragment) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(fragment) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(fragment), "No " + fragment + " in:\n" + content);
+        return content;
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", "employee@company.com");
+    }
+
+    @RestController
+    static class EventsEndpoint {
+
+        private final EmployeeEventBroadcaster broadcaster;
+
+        EventsEndpoint(EmployeeEventBroadcaster broadcaster) {
+            this.broadcaster = broadcaster;
+        }
+
+        @GetMapping("/events")
+        public SseEmitter events(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+            return broadcaster.subscribe(Optional.ofNullable(lastEventId));
+        }
+    }
+}
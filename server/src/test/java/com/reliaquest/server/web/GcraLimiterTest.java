@@ -0,0 +1,147 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exercises the mock server's request limiter, which the API's resilience settings are tuned against. Kept in the
+ * limiter's package so it can drive the limiter's clock.
+ */
+public class GcraLimiterTest {
+
+    private static final Duration BACKOFF = Duration.ofHours(1);
+
+    @Test
+    void test_Burst_AdmitsLimitThenReportsWait() {
+        GcraLimiter limiter = new GcraLimiter(4, BACKOFF);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        long wait = limiter.tryAcquire("client");
+
+        // the next request is due one emission interval, backoff / limit, after the burst
+        assertTrue(wait > 0, "waited " + wait);
+        assertTrue(wait <= BACKOFF.toNanos() / 4, "waited " + wait);
+        assertTrue(wait > BACKOFF.toNanos() / 4 - TimeUnit.MINUTES.toNanos(1), "waited " + wait);
+    }
+
+    @Test
+    void test_Keys_HaveTheirOwnBudget() {
+        GcraLimiter limiter = new GcraLimiter(1, BACKOFF);
+
+        assertEquals(0, limiter.tryAcquire("GET /api/v1/employee"));
+        assertTrue(limiter.tryAcquire("GET /api/v1/employee") > 0);
+        assertEquals(0, limiter.tryAcquire("GET /api/v1/employee/{id}"));
+    }
+
+    @Test
+    void test_Backoff_RestoresBudget() throws InterruptedException {
+        GcraLimiter limiter = new GcraLimiter(2, Duration.ofMillis(200));
+        limiter.tryAcquire("client");
+        limiter.tryAcquire("client");
+
+        long wait = limiter.tryAcquire("client");
+        assertTrue(wait > 0);
+        TimeUnit.NANOSECONDS.sleep(wait);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void test_ConcurrentRequests_NeverOverAdmit() throws Exception {
+        int limit = 50;
+        int threads = 16;
+        int attemptsPerThread = 1_000;
+        GcraLimiter limiter = new GcraLimiter(limit, BACKOFF);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> admitted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                admitted.add(executor.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (limiter.tryAcquire("client") == 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> future : admitted) {
+                total += future.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(limit, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_IdleKeys_AreEvicted() {
+        AtomicLong clock = new AtomicLong(Long.MAX_VALUE - TimeUnit.MINUTES.toNanos(30));
+        GcraLimiter limiter = new GcraLimiter(2, BACKOFF, clock::get);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("client-" + i));
+        }
+        assertEquals(100, limiter.size());
+
+        // past the backoff, across the nanoTime wrap: every budget is whole again, so the next request sweeps them out
+        clock.addAndGet(BACKOFF.toNanos());
+        assertEquals(0, limiter.tryAcquire("client-100"));
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void test_Sweep_KeepsKeysStillOwedTime() {
+        AtomicLong clock = new AtomicLong();
+        GcraLimiter limiter = new GcraLimiter(2, BACKOFF, clock::get);
+        limiter.tryAcquire("idle");
+        clock.addAndGet(BACKOFF.toNanos() / 2);
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        clock.addAndGet(BACKOFF.toNanos() / 2);
+        limiter.tryAcquire("other");
+
+        // "idle" went, "busy" kept the time it still owes: half its budget instead of a fresh burst
+        assertEquals(2, limiter.size());
+        assertEquals(0, limiter.tryAcquire("busy"));
+        assertTrue(limiter.tryAcquire("busy") > 0);
+    }
+
+    @Test
+    void test_EvictedKey_StartsWithFullBudget() {
+        AtomicLong clock = new AtomicLong();
+        GcraLimiter limiter = new GcraLimiter(3, BACKOFF, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("client");
+        }
+        clock.addAndGet(BACKOFF.toNanos());
+        limiter.tryAcquire("other");
+        assertEquals(1, limiter.size());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+}